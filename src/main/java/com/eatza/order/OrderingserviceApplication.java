@@ -4,17 +4,21 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
 import org.springframework.context.annotation.Bean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import com.eatza.order.config.JwtFilter;
+import com.eatza.order.loadbalancer.LatencyAwareLoadBalancerConfig;
 import com.eatza.order.util.JwtTokenUtil;
 
 @SpringBootApplication
 @EnableScheduling
 @EnableWebMvc
+@LoadBalancerClients(defaultConfiguration = LatencyAwareLoadBalancerConfig.class)
 public class OrderingserviceApplication {
 
 	public static void main(String[] args) {
@@ -23,8 +27,8 @@ public class OrderingserviceApplication {
 	
 	@Bean
 	@LoadBalanced
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(HttpComponentsClientHttpRequestFactory httpRequestFactory) {
+        return new RestTemplate(httpRequestFactory);
     }
 	
 	@Bean
@@ -0,0 +1,73 @@
+package com.eatza.order.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.StringUtils;
+
+import com.eatza.order.util.CredentialContext;
+import com.eatza.order.util.Hedger;
+
+@Configuration
+public class CatalogClientConfig {
+
+	@Value("${restaurant.service.item-lookup.pool-size:32}")
+	private int poolSize;
+
+	@Value("${restaurant.service.item-lookup.queue-capacity:256}")
+	private int queueCapacity;
+
+	/**
+	 * Lookups beyond the pool and its queue are rejected rather than parked, so a
+	 * saturated restaurant service cannot pile up order requests behind it.
+	 */
+	@Bean(name = "catalogExecutor")
+	public Executor catalogExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(poolSize);
+		executor.setMaxPoolSize(poolSize);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setThreadNamePrefix("catalog-");
+		executor.setTaskDecorator(CredentialContext.TASK_DECORATOR);
+		executor.initialize();
+		return executor;
+	}
+
+	/**
+	 * Hedges single item lookups. Both the original and the hedged call run on a pool of
+	 * their own, since the callers are already catalog executor threads. A hedge that
+	 * does not fit in that pool is skipped.
+	 */
+	@Bean
+	@ConditionalOnProperty(name = "restaurant.service.hedging.enabled", havingValue = "true")
+	public Hedger itemLookupHedger(
+			@Value("${restaurant.service.hedging.pool-size:32}") int hedgePoolSize,
+			@Value("${restaurant.service.hedging.queue-capacity:256}") int hedgeQueueCapacity,
+			@Value("${restaurant.service.hedging.percentile:0.95}") double percentile,
+			@Value("${restaurant.service.hedging.initial-delay:200ms}") Duration initialDelay,
+			@Value("${restaurant.service.hedging.min-delay:10ms}") Duration minDelay,
+			@Value("${restaurant.service.hedging.budget-ratio:0.05}") double budgetRatio,
+			@Value("${restaurant.service.hedging.budget-burst:10}") int budgetBurst) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(hedgePoolSize);
+		executor.setMaxPoolSize(hedgePoolSize);
+		executor.setQueueCapacity(hedgeQueueCapacity);
+		executor.setThreadNamePrefix("catalog-hedge-");
+		executor.setTaskDecorator(CredentialContext.TASK_DECORATOR);
+		executor.initialize();
+		return new Hedger(executor, percentile, initialDelay, minDelay, budgetRatio, budgetBurst);
+	}
+
+	@Bean
+	public Clock clock(@Value("${restaurant.service.time-zone:}") String timeZone) {
+		return StringUtils.hasText(timeZone) ? Clock.system(ZoneId.of(timeZone)) : Clock.systemDefaultZone();
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.eatza.order.config;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.eatza.order.exception.OrderException;
+import com.eatza.order.util.Interruptions;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker and bulkhead guarding each call to the restaurant service. Validation
+ * failures and 4xx answers are business outcomes and never trip the breaker. Calls the
+ * bulkhead refused or that were abandoned because the order that made them was cancelled
+ * say nothing about the restaurant service, so the breaker does not count them at all.
+ */
+@Configuration
+@Slf4j
+public class CatalogResilienceConfig {
+
+	public static final String CATALOG = "restaurantCatalog";
+
+	@Value("${restaurant.service.circuit-breaker.failure-rate-threshold:50}")
+	private float failureRateThreshold;
+
+	@Value("${restaurant.service.circuit-breaker.slow-call-rate-threshold:80}")
+	private float slowCallRateThreshold;
+
+	@Value("${restaurant.service.circuit-breaker.slow-call-duration:2s}")
+	private Duration slowCallDuration;
+
+	@Value("${restaurant.service.circuit-breaker.sliding-window-size:20}")
+	private int slidingWindowSize;
+
+	@Value("${restaurant.service.circuit-breaker.minimum-calls:10}")
+	private int minimumCalls;
+
+	@Value("${restaurant.service.circuit-breaker.wait-in-open:10s}")
+	private Duration waitInOpen;
+
+	@Value("${restaurant.service.circuit-breaker.half-open-calls:3}")
+	private int halfOpenCalls;
+
+	@Value("${restaurant.service.bulkhead.max-concurrent-calls:32}")
+	private int maxConcurrentCalls;
+
+	@Value("${restaurant.service.bulkhead.max-wait:50ms}")
+	private Duration maxWait;
+
+	@Bean
+	public CircuitBreaker catalogCircuitBreaker(MeterRegistry meterRegistry) {
+		CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+				.failureRateThreshold(failureRateThreshold)
+				.slowCallRateThreshold(slowCallRateThreshold)
+				.slowCallDurationThreshold(slowCallDuration)
+				.slidingWindowSize(slidingWindowSize)
+				.minimumNumberOfCalls(minimumCalls)
+				.waitDurationInOpenState(waitInOpen)
+				.permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+				.automaticTransitionFromOpenToHalfOpenEnabled(true)
+				.recordException(CatalogResilienceConfig::isRestaurantServiceFailure)
+				.ignoreException(CatalogResilienceConfig::isAbandonedCall)
+				.build());
+		TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+		CircuitBreaker circuitBreaker = registry.circuitBreaker(CATALOG);
+		circuitBreaker.getEventPublisher().onStateTransition(event -> {
+			log.warn("Restaurant service circuit breaker moved {}", event.getStateTransition());
+			Counter.builder("catalog.circuitbreaker.transitions")
+					.description("Restaurant service circuit breaker state transitions")
+					.tag("from", event.getStateTransition().getFromState().name())
+					.tag("to", event.getStateTransition().getToState().name())
+					.register(meterRegistry)
+					.increment();
+		});
+		return circuitBreaker;
+	}
+
+	@Bean
+	public Bulkhead catalogBulkhead(MeterRegistry meterRegistry) {
+		BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+				.maxConcurrentCalls(maxConcurrentCalls)
+				.maxWaitDuration(maxWait)
+				.build());
+		TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+		return registry.bulkhead(CATALOG);
+	}
+
+	public static boolean isRestaurantServiceFailure(Throwable throwable) {
+		if(throwable instanceof OrderException)
+			return false;
+		if(throwable instanceof RestClientResponseException)
+			return ((RestClientResponseException) throwable).getStatusCode().is5xxServerError();
+		return true;
+	}
+
+	/**
+	 * Not recorded as a success either, which is what resilience4j does with exceptions
+	 * {@link #isRestaurantServiceFailure} turns down.
+	 */
+	public static boolean isAbandonedCall(Throwable throwable) {
+		return throwable instanceof BulkheadFullException || throwable instanceof CancellationException
+				|| Interruptions.isInterruption(throwable);
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.eatza.order.config;
+
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Pooled, timeout-bounded HTTP client behind the load-balanced RestTemplate. Every
+ * downstream call either gets a pooled connection, connects and answers within its
+ * timeouts, or fails, so a slow instance cannot hold a request thread forever.
+ */
+@Configuration
+public class HttpClientConfig {
+
+	@Value("${http.client.max-connections:200}")
+	private int maxConnections;
+
+	@Value("${http.client.max-connections-per-route:50}")
+	private int maxConnectionsPerRoute;
+
+	@Value("${http.client.connect-timeout:1s}")
+	private Duration connectTimeout;
+
+	@Value("${http.client.read-timeout:3s}")
+	private Duration readTimeout;
+
+	@Value("${http.client.response-timeout:3s}")
+	private Duration responseTimeout;
+
+	@Value("${http.client.pool-acquire-timeout:500ms}")
+	private Duration poolAcquireTimeout;
+
+	@Value("${http.client.keep-alive:30s}")
+	private Duration keepAlive;
+
+	@Value("${http.client.idle-eviction:30s}")
+	private Duration idleEviction;
+
+	@Bean(destroyMethod = "close")
+	public PoolingHttpClientConnectionManager httpConnectionManager() {
+		return PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxConnections)
+				.setMaxConnPerRoute(maxConnectionsPerRoute)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.of(connectTimeout))
+						.setSocketTimeout(Timeout.of(readTimeout))
+						.build())
+				.build();
+	}
+
+	@Bean(destroyMethod = "close")
+	public CloseableHttpClient httpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+		TimeValue maxKeepAlive = TimeValue.of(keepAlive);
+		return HttpClients.custom()
+				.setConnectionManager(httpConnectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.of(poolAcquireTimeout))
+						.setResponseTimeout(Timeout.of(responseTimeout))
+						.build())
+				// honour a shorter server Keep-Alive hint, never keep a connection longer than configured
+				.setKeepAliveStrategy((response, context) -> {
+					TimeValue offered = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+					return offered == null || offered.compareTo(maxKeepAlive) > 0 ? maxKeepAlive : offered;
+				})
+				.evictExpiredConnections()
+				.evictIdleConnections(TimeValue.of(idleEviction))
+				.build();
+	}
+
+	@Bean
+	public HttpComponentsClientHttpRequestFactory httpRequestFactory(CloseableHttpClient httpClient) {
+		return new HttpComponentsClientHttpRequestFactory(httpClient);
+	}
+
+	@Bean
+	public MeterBinder httpConnectionPoolMetrics(PoolingHttpClientConnectionManager httpConnectionManager) {
+		return new PoolingHttpClientConnectionManagerMetricsBinder(httpConnectionManager, "restTemplate");
+	}
+
+}
@@ -17,6 +17,7 @@ import org.springframework.web.filter.GenericFilterBean;
 import com.eatza.order.dto.ErrorResponseDto;
 import com.eatza.order.exception.InvalidTokenException;
 import com.eatza.order.exception.UnauthorizedException;
+import com.eatza.order.util.CredentialContext;
 import com.eatza.order.util.ErrorCodesEnum;
 import com.eatza.order.util.JwtTokenUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -38,13 +39,14 @@ public class JwtFilter extends GenericFilterBean {
 		final HttpServletRequest request = (HttpServletRequest) req;
 		final HttpServletResponse response = (HttpServletResponse) res;
 		final String authHeader = request.getHeader("authorization");
+		final String token;
 		
 		try {
 			
 			if (authHeader == null || !authHeader.startsWith("Bearer ")) 
 				throw new InvalidTokenException("Missing or invalid Authorization header");
 			
-			final String token = authHeader.substring(7);
+			token = authHeader.substring(7);
 			
 			if(!tokenUtil.validateToken(token))
 				throw new UnauthorizedException("Invalid token");
@@ -60,7 +62,9 @@ public class JwtFilter extends GenericFilterBean {
 			return;
 		}
 
-		chain.doFilter(req, res);
+		try (CredentialContext.Scope scope = CredentialContext.open(token)) {
+			chain.doFilter(req, res);
+		}
 	}
 	
 	public void filterErrorHandler(InvalidTokenException exception, HttpServletResponse response ) {
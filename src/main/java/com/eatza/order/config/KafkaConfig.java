@@ -3,6 +3,7 @@ package com.eatza.order.config;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,6 +11,7 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
@@ -19,12 +21,22 @@ import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import com.eatza.order.dto.CatalogChangeDto;
+import com.eatza.order.kafka.OrderInvalidationBroadcaster;
 import com.eatza.order.model.Order;
 
 @EnableKafka
 @Configuration
 public class KafkaConfig {
 	
+	public static final String CATALOG_TOPIC = "topicmenu";
+	
+	public static final String CATALOG_GROUP_ID = "order-catalog";
+	
+	public static final String ORDER_INVALIDATION_TOPIC = "order-invalidations";
+	
+	public static final String ORDER_INVALIDATION_GROUP_PREFIX = "order-invalidation-";
+	
 	@Bean
 	public ProducerFactory<String, Order> producerFactory(){
 		Map<String, Object> config = new HashMap<>();
@@ -64,5 +76,77 @@ public class KafkaConfig {
 		return factory;
 		
 	}
+	
+	@Bean
+	public ConsumerFactory<String, CatalogChangeDto> catalogConsumerFactory(){
+		
+		Map<String, Object> config = new HashMap<>();
+		JsonDeserializer<CatalogChangeDto> jsonDeserializer = new JsonDeserializer<>(CatalogChangeDto.class, false);
+		jsonDeserializer.addTrustedPackages("*");
+		
+		config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "127.0.0.1:9092");
+		config.put(ConsumerConfig.GROUP_ID_CONFIG, CATALOG_GROUP_ID);
+		
+		return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), jsonDeserializer);
+		
+	}
+	
+	// menu churn gets its own consumer group and containers so it never queues behind order status events
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<String, CatalogChangeDto> catalogKafkaListener(){
+		ConcurrentKafkaListenerContainerFactory<String, CatalogChangeDto> factory = 
+				new ConcurrentKafkaListenerContainerFactory<>();
+		factory.setConsumerFactory(catalogConsumerFactory());
+		return factory;
+		
+	}
+
+	// compacted: only the latest invalidation per order id is worth keeping
+	@Bean
+	public NewTopic orderInvalidationTopic(){
+		return TopicBuilder.name(ORDER_INVALIDATION_TOPIC)
+				.partitions(3)
+				.compact()
+				.build();
+	}
+	
+	@Bean
+	public ProducerFactory<String, String> invalidationProducerFactory(){
+		Map<String, Object> config = new HashMap<>();
+		config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, "127.0.0.1:9092");
+		config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+		config.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+		
+		return new DefaultKafkaProducerFactory<>(config);
+	}
+	
+	@Bean
+	public KafkaTemplate<String, String> invalidationKafkaTemplate(){
+		return new KafkaTemplate<>(invalidationProducerFactory());
+	}
+	
+	// a fresh replica starts with an empty cache, so it only needs invalidations from now on
+	@Bean
+	public ConsumerFactory<String, String> invalidationConsumerFactory(OrderInvalidationBroadcaster orderInvalidationBroadcaster){
+		
+		Map<String, Object> config = new HashMap<>();
+		config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "127.0.0.1:9092");
+		config.put(ConsumerConfig.GROUP_ID_CONFIG, orderInvalidationBroadcaster.getGroupId());
+		config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+		
+		return new DefaultKafkaConsumerFactory<>(config, new StringDeserializer(), new StringDeserializer());
+		
+	}
+	
+	@Bean
+	public ConcurrentKafkaListenerContainerFactory<String, String> invalidationKafkaListener(
+			ConsumerFactory<String, String> invalidationConsumerFactory){
+		ConcurrentKafkaListenerContainerFactory<String, String> factory = 
+				new ConcurrentKafkaListenerContainerFactory<>();
+		factory.setConsumerFactory(invalidationConsumerFactory);
+		return factory;
+		
+	}
 
 }
@@ -6,13 +6,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.eatza.order.dto.OrderItemsPatchDto;
 import com.eatza.order.dto.OrderRequestDto;
 import com.eatza.order.dto.OrderUpdateDto;
 import com.eatza.order.dto.OrderUpdateResponseDto;
@@ -34,9 +37,10 @@ public class OrderController {
 	@PostMapping("/order")
 	@SecurityRequirement(name = "BearerAuth")
 	@Operation(tags = "OrderController", description = "Place a new order")
-	public ResponseEntity<Order> placeOrder(@RequestBody OrderRequestDto orderRequestDto) throws OrderException {
+	public ResponseEntity<Order> placeOrder(@RequestBody OrderRequestDto orderRequestDto, 
+			@RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) throws OrderException {
 		log.debug("In place order method, calling the service");
-		Order order = orderService.placeOrder(orderRequestDto);
+		Order order = orderService.placeOrder(orderRequestDto, idempotencyKey);
 		log.debug("Order Placed Successfully");
 		return ResponseEntity
 				.status(HttpStatus.OK)
@@ -77,6 +81,21 @@ public class OrderController {
 
 	}
 
+	@PatchMapping("/order/{orderId}/items")
+	@SecurityRequirement(name = "BearerAuth")
+	@Operation(tags = "OrderController", description = "Add, remove or re-quantify items of an order")
+	public ResponseEntity<OrderUpdateResponseDto> patchOrderItems(@PathVariable Long orderId, 
+			@RequestBody OrderItemsPatchDto orderItemsPatchDto) throws OrderException {
+
+		log.debug("In patchOrderItems method, calling service");
+		OrderUpdateResponseDto updatedResponse = orderService.patchOrderItems(orderId, orderItemsPatchDto);
+		log.debug("Returning back the object");
+
+		return ResponseEntity
+				.status(HttpStatus.OK)
+				.body(updatedResponse);
+	}
+
 	@GetMapping("/order/{orderId}")
 	@SecurityRequirement(name = "BearerAuth")
 	@Operation(tags = "OrderController", description = "Get order by order id")
@@ -0,0 +1,19 @@
+package com.eatza.order.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CatalogChangeDto {
+
+	private List<Long> itemIds;
+	private List<Long> menuIds;
+
+}
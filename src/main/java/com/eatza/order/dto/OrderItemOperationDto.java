@@ -0,0 +1,20 @@
+package com.eatza.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OrderItemOperationDto {
+	
+	public enum Op {
+		ADD, REMOVE, SET_QUANTITY
+	}
+	
+	private Op op;
+	private long itemId;
+	// ignored for REMOVE
+	private int quantity;
+
+}
@@ -0,0 +1,16 @@
+package com.eatza.order.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OrderItemsPatchDto {
+	
+	private Long customerId;
+	private List<OrderItemOperationDto> operations;
+
+}
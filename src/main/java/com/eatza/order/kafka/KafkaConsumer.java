@@ -1,10 +1,15 @@
 package com.eatza.order.kafka;
 
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import com.eatza.order.config.KafkaConfig;
+import com.eatza.order.dto.CatalogChangeDto;
 import com.eatza.order.model.Order;
+import com.eatza.order.service.catalogservice.CatalogService;
+import com.eatza.order.service.orderservice.OrderCache;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -14,10 +19,33 @@ public class KafkaConsumer {
 	
 	@Autowired
 	KafkaService kafkaService;
+	
+	@Autowired
+	CatalogService catalogService;
+	
+	@Autowired
+	OrderCache orderCache;
+	
+	@Autowired
+	OrderInvalidationBroadcaster orderInvalidationBroadcaster;
 
 	@KafkaListener(topics = "topicrestaurant", groupId = "json", containerFactory = "kafkaListener")
 	public void consumeJson(Order order) {
 		log.debug("Order recieved");
 		kafkaService.updateOrderStatus(order);
 	}
+	
+	@KafkaListener(topics = KafkaConfig.CATALOG_TOPIC, groupId = KafkaConfig.CATALOG_GROUP_ID, containerFactory = "catalogKafkaListener")
+	public void consumeCatalogChange(CatalogChangeDto catalogChange) {
+		log.debug("Catalog change received");
+		catalogService.evictCatalogEntries(catalogChange.getItemIds(), catalogChange.getMenuIds());
+	}
+	
+	@KafkaListener(topics = KafkaConfig.ORDER_INVALIDATION_TOPIC, containerFactory = "invalidationKafkaListener")
+	public void consumeOrderInvalidation(ConsumerRecord<String, String> invalidation) {
+		if(orderInvalidationBroadcaster.isOwn(invalidation.value()))
+			return;
+		log.debug("Order invalidation received for order {}", invalidation.key());
+		orderCache.evictLocally(Long.valueOf(invalidation.key()));
+	}
 }
@@ -2,15 +2,24 @@ package com.eatza.order.kafka;
 
 import java.util.Optional;
 
+import jakarta.annotation.PostConstruct;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
 import com.eatza.order.repository.OrderRepository;
+import com.eatza.order.service.orderservice.OrderCache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@Setter
 @Slf4j
 public class KafkaService {
 	
@@ -20,14 +29,41 @@ public class KafkaService {
 	@Autowired
 	KafkaProducer kafkaProducer;
 	
+	@Autowired
+	OrderCache orderCache;
+	
+	@Autowired
+	MeterRegistry meterRegistry;
+	
+	private Counter rejectedEvents;
+	
+	@PostConstruct
+	public void bindMetrics() {
+		rejectedEvents = Counter.builder("order.status.events.rejected")
+				.description("Status events for orders that were stale, finished or could not make the transition")
+				.register(meterRegistry);
+	}
+	
 	public void updateOrderStatus(Order order) {
 		log.debug("In updateOrderStatus");
 		try {
-		Optional<Order> previousOrder = orderRepository.findActiveOrder(order.getId());
-		if(previousOrder.isPresent()) {
-			Order savedOrder = orderRepository.save(order);
-			kafkaProducer.publishOrder(savedOrder);
-		} log.debug("Order is completed or cancelled");
+		OrderStatus target = OrderStatus.of(order.getStatus());
+		if(target == null) {
+			log.info("Ignoring unknown status {} for order {}", order.getStatus(), order.getId());
+			return;
+		}
+		// only the status is taken from the event, the rest of the row stays as this service wrote it;
+		// an event carrying the version it was decided on is dropped if the order has moved since
+		Optional<Order> savedOrder = order.getVersion() == null
+				? orderRepository.transitionStatus(order.getId(), target)
+				: orderRepository.transitionStatusAtVersion(order.getId(), order.getVersion(), target);
+		if(savedOrder.isPresent()) {
+			orderCache.evict(savedOrder.get().getId());
+			kafkaProducer.publishOrder(savedOrder.get());
+		} else {
+			rejectedEvents.increment();
+			log.debug("Order {} cannot move to {} at version {}", order.getId(), target, order.getVersion());
+		}
 		} catch(Exception ex) {
 			log.info("Failed to publish order : ", ex.getMessage());;
 		}
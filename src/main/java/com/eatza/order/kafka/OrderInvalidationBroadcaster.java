@@ -0,0 +1,61 @@
+package com.eatza.order.kafka;
+
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.eatza.order.config.KafkaConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells the other replicas to drop their cached copy of an order. Records are keyed by
+ * order id on a compacted topic and carry the sending node's id, so each replica can
+ * ignore its own invalidations when they come back to it.
+ */
+@Component
+@Slf4j
+public class OrderInvalidationBroadcaster {
+
+	private final KafkaTemplate<String, String> invalidationKafkaTemplate;
+
+	private final String nodeId;
+
+	public OrderInvalidationBroadcaster(
+			@Qualifier("invalidationKafkaTemplate") KafkaTemplate<String, String> invalidationKafkaTemplate,
+			@Value("${order.cache.node-id:}") String nodeId) {
+		this.invalidationKafkaTemplate = invalidationKafkaTemplate;
+		this.nodeId = nodeId.isEmpty() ? UUID.randomUUID().toString() : nodeId;
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	/**
+	 * Every replica reads the whole topic, so each one needs a consumer group of its own.
+	 */
+	public String getGroupId() {
+		return KafkaConfig.ORDER_INVALIDATION_GROUP_PREFIX + nodeId;
+	}
+
+	public boolean isOwn(String originNodeId) {
+		return nodeId.equals(originNodeId);
+	}
+
+	public void publish(Long orderId) {
+		try {
+			invalidationKafkaTemplate.send(KafkaConfig.ORDER_INVALIDATION_TOPIC, orderId.toString(), nodeId)
+				.whenComplete((result, ex) -> {
+					if(ex != null)
+						log.warn("Unable to broadcast invalidation of order {}: {}", orderId, ex.getMessage());
+				});
+		} catch(Exception ex) {
+			log.warn("Unable to broadcast invalidation of order {}: {}", orderId, ex.getMessage());
+		}
+	}
+
+}
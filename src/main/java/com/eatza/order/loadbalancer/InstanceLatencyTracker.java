@@ -0,0 +1,191 @@
+package com.eatza.order.loadbalancer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps an exponentially weighted moving average of the response time and the number of
+ * outstanding requests of every service instance the load-balanced RestTemplate talks to.
+ * Failed calls count as at least {@code failurePenalty}, so an instance that refuses
+ * connections quickly does not look fast. Until an instance has answered once it is
+ * assumed to be as fast as the median of its service's other instances, or
+ * {@code initialEstimate} when none has answered yet. Instances the balancer no longer
+ * lists are forgotten through {@link #retainInstances}.
+ */
+@Component
+public class InstanceLatencyTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+	private final MeterRegistry meterRegistry;
+
+	private final double alpha;
+
+	private final long failurePenaltyNanos;
+
+	private final long initialEstimateNanos;
+
+	private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+	public InstanceLatencyTracker(MeterRegistry meterRegistry,
+			@Value("${loadbalancer.latency.ewma-alpha:0.3}") double alpha,
+			@Value("${loadbalancer.latency.failure-penalty:1s}") Duration failurePenalty,
+			@Value("${loadbalancer.latency.initial-estimate:100ms}") Duration initialEstimate) {
+		this.meterRegistry = meterRegistry;
+		this.alpha = alpha;
+		this.failurePenaltyNanos = failurePenalty.toNanos();
+		this.initialEstimateNanos = initialEstimate.toNanos();
+	}
+
+	@Override
+	public void onStart(Request<Object> request) {
+		// the instance is not known until it has been chosen
+	}
+
+	@Override
+	public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+		if(request.getContext() instanceof TimedRequestContext)
+			((TimedRequestContext) request.getContext()).setRequestStartTime(System.nanoTime());
+		if(lbResponse.hasServer())
+			statsOf(lbResponse.getServer()).outstanding.incrementAndGet();
+	}
+
+	@Override
+	public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+		Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+		if(lbResponse == null || !lbResponse.hasServer()
+				|| completionContext.status() == CompletionContext.Status.DISCARD)
+			return;
+		// gone if the instance was dropped from the service while the call was in flight
+		InstanceStats instanceStats = stats.get(keyOf(lbResponse.getServer()));
+		if(instanceStats == null)
+			return;
+		instanceStats.outstanding.decrementAndGet();
+
+		Object context = completionContext.getLoadBalancerRequest().getContext();
+		long startTime = context instanceof TimedRequestContext ? ((TimedRequestContext) context).getRequestStartTime() : 0;
+		if(startTime <= 0)
+			return;
+		long elapsed = System.nanoTime() - startTime;
+		if(completionContext.status() == CompletionContext.Status.FAILED)
+			elapsed = Math.max(elapsed, failurePenaltyNanos);
+		instanceStats.record(elapsed, alpha);
+	}
+
+	/**
+	 * Expected cost of sending one more request to the instance: its average latency
+	 * scaled by the requests already waiting on it. An instance without samples is scored
+	 * at a typical latency rather than zero, so it gets probed without winning every
+	 * comparison until its first response comes back.
+	 */
+	public double score(ServiceInstance instance) {
+		InstanceStats instanceStats = statsOf(instance);
+		double latency = instanceStats.isSampled() ? instanceStats.ewmaNanos() : unsampledEstimate(instanceStats.serviceId);
+		return latency * (instanceStats.outstanding.get() + 1);
+	}
+
+	private double unsampledEstimate(String serviceId) {
+		double[] peers = stats.values().stream()
+				.filter(s -> s.serviceId.equals(serviceId) && s.isSampled())
+				.mapToDouble(InstanceStats::ewmaNanos)
+				.sorted()
+				.toArray();
+		if(peers.length == 0)
+			return initialEstimateNanos;
+		int middle = peers.length / 2;
+		return peers.length % 2 == 1 ? peers[middle] : (peers[middle - 1] + peers[middle]) / 2;
+	}
+
+	/**
+	 * Forgets the instances of {@code serviceId} missing from {@code instances} and
+	 * removes their gauges, so instances that went away neither pile up nor keep
+	 * counting towards the median an unsampled instance is scored at. Service ids are
+	 * compared ignoring case, since some discovery clients upper-case them.
+	 */
+	public void retainInstances(String serviceId, List<ServiceInstance> instances) {
+		Set<String> listed = instances.stream()
+				.map(InstanceLatencyTracker::keyOf)
+				.collect(Collectors.toSet());
+		stats.entrySet().removeIf(entry -> {
+			if(!entry.getValue().serviceId.equalsIgnoreCase(serviceId) || listed.contains(entry.getKey()))
+				return false;
+			entry.getValue().gauges.forEach(meterRegistry::remove);
+			return true;
+		});
+	}
+
+	void record(ServiceInstance instance, long latencyNanos) {
+		statsOf(instance).record(latencyNanos, alpha);
+	}
+
+	static String keyOf(ServiceInstance instance) {
+		return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+	}
+
+	private InstanceStats statsOf(ServiceInstance instance) {
+		return stats.computeIfAbsent(keyOf(instance), k -> {
+			String serviceId = String.valueOf(instance.getServiceId());
+			InstanceStats instanceStats = new InstanceStats(serviceId);
+			String address = instance.getHost() + ":" + instance.getPort();
+			instanceStats.gauges.add(Gauge.builder("loadbalancer.instance.latency.ewma", instanceStats, s -> s.ewmaNanos() / 1_000_000d)
+					.description("Moving average response time of the instance in milliseconds")
+					.tag("service", serviceId)
+					.tag("instance", address)
+					.register(meterRegistry));
+			instanceStats.gauges.add(Gauge.builder("loadbalancer.instance.outstanding", instanceStats, s -> s.outstanding.get())
+					.description("Requests sent to the instance that have not completed yet")
+					.tag("service", serviceId)
+					.tag("instance", address)
+					.register(meterRegistry));
+			return instanceStats;
+		});
+	}
+
+	private static final class InstanceStats {
+
+		private final String serviceId;
+
+		private final AtomicInteger outstanding = new AtomicInteger();
+
+		private final List<Meter> gauges = new ArrayList<>(2);
+
+		private double ewmaNanos;
+
+		private boolean sampled;
+
+		InstanceStats(String serviceId) {
+			this.serviceId = serviceId;
+		}
+
+		synchronized void record(long latencyNanos, double alpha) {
+			ewmaNanos = sampled ? ewmaNanos + alpha * (latencyNanos - ewmaNanos) : latencyNanos;
+			sampled = true;
+		}
+
+		synchronized double ewmaNanos() {
+			return ewmaNanos;
+		}
+
+		synchronized boolean isSampled() {
+			return sampled;
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.eatza.order.loadbalancer;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.ServiceInstance;
+
+/**
+ * Ties the attempts of one hedged call together across the balancer: the instance the
+ * first attempt was balanced to is recorded, and the other attempt is balanced over the
+ * remaining instances only. An attempt is bound to the thread running it, the same way
+ * {@code CredentialContext} binds the bearer token, since the blocking balancer chooses
+ * on the thread that makes the call.
+ */
+public final class InstanceSelection {
+
+	private static final ThreadLocal<Attempt> CURRENT = new ThreadLocal<>();
+
+	private volatile String firstInstance;
+
+	private volatile boolean alternativeAvailable;
+
+	public <V> V first(Supplier<V> call) {
+		return within(new Attempt(false), call);
+	}
+
+	public <V> V other(Supplier<V> call) {
+		return within(new Attempt(true), call);
+	}
+
+	/**
+	 * True once the first attempt has been balanced and its service had at least one
+	 * other instance to send the next attempt to.
+	 */
+	public boolean hasAlternative() {
+		return alternativeAvailable;
+	}
+
+	static Attempt current() {
+		return CURRENT.get();
+	}
+
+	private static <V> V within(Attempt attempt, Supplier<V> call) {
+		Attempt previous = CURRENT.get();
+		CURRENT.set(attempt);
+		try {
+			return call.get();
+		} finally {
+			if(previous == null)
+				CURRENT.remove();
+			else
+				CURRENT.set(previous);
+		}
+	}
+
+	final class Attempt {
+
+		private final boolean avoidFirst;
+
+		private Attempt(boolean avoidFirst) {
+			this.avoidFirst = avoidFirst;
+		}
+
+		/**
+		 * Falls back to all instances when the first attempt's instance is the only one
+		 * left, e.g. because the others went away in the meantime.
+		 */
+		List<ServiceInstance> candidates(List<ServiceInstance> instances) {
+			String excluded = firstInstance;
+			if(!avoidFirst || excluded == null)
+				return instances;
+			List<ServiceInstance> others = instances.stream()
+					.filter(instance -> !excluded.equals(InstanceLatencyTracker.keyOf(instance)))
+					.collect(Collectors.toList());
+			return others.isEmpty() ? instances : others;
+		}
+
+		void chosen(ServiceInstance instance, List<ServiceInstance> instances) {
+			if(avoidFirst)
+				return;
+			firstInstance = InstanceLatencyTracker.keyOf(instance);
+			alternativeAvailable = instances.size() > 1;
+		}
+	}
+
+}
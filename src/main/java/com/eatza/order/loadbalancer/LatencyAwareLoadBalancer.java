@@ -0,0 +1,87 @@
+package com.eatza.order.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.SelectedInstanceCallback;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Power-of-two-choices balancer: samples two distinct instances at random and sends the
+ * request to the one with the lower {@link InstanceLatencyTracker#score}, so slow or
+ * backed-up instances get less traffic without every client herding onto the fastest one.
+ * Inside an {@link InstanceSelection} the hedge of a call is balanced over the instances
+ * its first attempt did not go to.
+ */
+@Slf4j
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+	private final ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider;
+
+	private final String serviceId;
+
+	private final InstanceLatencyTracker latencyTracker;
+
+	public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> serviceInstanceListSupplierProvider,
+			String serviceId, InstanceLatencyTracker latencyTracker) {
+		this.serviceInstanceListSupplierProvider = serviceInstanceListSupplierProvider;
+		this.serviceId = serviceId;
+		this.latencyTracker = latencyTracker;
+	}
+
+	@Override
+	@SuppressWarnings("rawtypes")
+	public Mono<Response<ServiceInstance>> choose(Request request) {
+		ServiceInstanceListSupplier supplier = serviceInstanceListSupplierProvider
+				.getIfAvailable(NoopServiceInstanceListSupplier::new);
+		// read on the calling thread, the instance list may be emitted on another one
+		InstanceSelection.Attempt attempt = InstanceSelection.current();
+		return supplier.get(request).next().map(instances -> {
+			latencyTracker.retainInstances(serviceId, instances);
+			Response<ServiceInstance> response = choose(instances, attempt);
+			if(supplier instanceof SelectedInstanceCallback && response.hasServer())
+				((SelectedInstanceCallback) supplier).selectedServiceInstance(response.getServer());
+			return response;
+		});
+	}
+
+	Response<ServiceInstance> choose(List<ServiceInstance> instances, InstanceSelection.Attempt attempt) {
+		if(attempt == null)
+			return choose(instances);
+		Response<ServiceInstance> response = choose(attempt.candidates(instances));
+		if(response.hasServer())
+			attempt.chosen(response.getServer(), instances);
+		return response;
+	}
+
+	Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+		if(instances.isEmpty()) {
+			log.warn("No servers available for service: {}", serviceId);
+			return new EmptyResponse();
+		}
+		if(instances.size() == 1)
+			return new DefaultResponse(instances.get(0));
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int first = random.nextInt(instances.size());
+		int second = random.nextInt(instances.size() - 1);
+		if(second >= first)
+			second++;
+		ServiceInstance a = instances.get(first);
+		ServiceInstance b = instances.get(second);
+		return new DefaultResponse(latencyTracker.score(b) < latencyTracker.score(a) ? b : a);
+	}
+
+}
@@ -6,7 +6,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -21,11 +23,17 @@ import lombok.Setter;
 public class Order {
 	
 	@Id
-	@GeneratedValue(strategy= GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+	@SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", schema = "eatza", allocationSize = 50)
 	private Long id;
 	private Long customerId;
 	private String status;
 	private Long restaurantId;
+	// quantity-weighted sum of item prices, in minor currency units (paise, cents)
+	private Long totalAmountMinor;
+	// bumped by every write, including the native status transitions
+	@Version
+	private Long version;
 	
 	@CreationTimestamp
     private LocalDateTime createDateTime;
@@ -0,0 +1,71 @@
+package com.eatza.order.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Lifecycle of an order. Orders only move forward, may skip steps the restaurant does
+ * not report, and can be cancelled until they are dispatched. The customer can change
+ * the items ({@code UPDATED}) until the restaurant accepts the order. {@code COMPLETED}
+ * and {@code CANCELLED} are terminal.
+ */
+public enum OrderStatus {
+
+	CREATED,
+	UPDATED,
+	ACCEPTED,
+	PREPARING,
+	DISPATCHED,
+	COMPLETED,
+	CANCELLED;
+
+	private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+	static {
+		TRANSITIONS.put(CREATED, EnumSet.of(UPDATED, ACCEPTED, PREPARING, DISPATCHED, COMPLETED, CANCELLED));
+		TRANSITIONS.put(UPDATED, EnumSet.of(UPDATED, ACCEPTED, PREPARING, DISPATCHED, COMPLETED, CANCELLED));
+		TRANSITIONS.put(ACCEPTED, EnumSet.of(PREPARING, DISPATCHED, COMPLETED, CANCELLED));
+		TRANSITIONS.put(PREPARING, EnumSet.of(DISPATCHED, COMPLETED, CANCELLED));
+		TRANSITIONS.put(DISPATCHED, EnumSet.of(COMPLETED));
+		TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+		TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+	}
+
+	public boolean isTerminal() {
+		return TRANSITIONS.get(this).isEmpty();
+	}
+
+	public boolean canTransitionTo(OrderStatus target) {
+		return TRANSITIONS.get(this).contains(target);
+	}
+
+	/**
+	 * Names of the statuses an order may be in to move to {@code target}, as stored in
+	 * the status column.
+	 */
+	public static List<String> sourcesOf(OrderStatus target) {
+		return TRANSITIONS.entrySet().stream()
+				.filter(transition -> transition.getValue().contains(target))
+				.map(transition -> transition.getKey().name())
+				.collect(Collectors.collectingAndThen(Collectors.toList(), Collections::unmodifiableList));
+	}
+
+	/**
+	 * Returns null for a status this service does not know.
+	 */
+	public static OrderStatus of(String status) {
+		if(status == null)
+			return null;
+		for(OrderStatus orderStatus: values()) {
+			if(orderStatus.name().equals(status))
+				return orderStatus;
+		}
+		return null;
+	}
+
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import org.hibernate.annotations.OnDelete;
@@ -22,7 +23,8 @@ import lombok.Setter;
 public class OrderedItem {
 
 	@Id
-	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ordered_items_seq")
+	@SequenceGenerator(name = "ordered_items_seq", sequenceName = "ordered_items_seq", schema = "eatza", allocationSize = 50)
 	private Long id;
 	private String name;
 	private int quantity;
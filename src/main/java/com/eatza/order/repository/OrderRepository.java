@@ -1,18 +1,57 @@
 package com.eatza.order.repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
 	@Query(nativeQuery = true, value = "select * from eatza.orders where id = ?1 and customer_id = ?2 and status not in ('CANCELLED', 'COMPLETED')")
 	Optional<Order> findActiveOrderById(Long orderId, Long customerId);
 
-	@Query(nativeQuery = true, value = "select * from eatza.orders where id = ?1 and status not in ('CANCELLED', 'COMPLETED')")
-	Optional<Order> findActiveOrder(Long orderId);
+	@Query(nativeQuery = true, value = "update eatza.orders set status = ?2, version = version + 1, update_date_time = localtimestamp "
+			+ "where id = ?1 and status in (?3) returning *")
+	@Transactional
+	Optional<Order> updateStatusIfIn(Long orderId, String status, Collection<String> fromStatuses);
+
+	@Query(nativeQuery = true, value = "update eatza.orders set status = ?3, version = version + 1, update_date_time = localtimestamp "
+			+ "where id = ?1 and customer_id = ?2 and status in (?4) returning *")
+	@Transactional
+	Optional<Order> updateStatusIfIn(Long orderId, Long customerId, String status, Collection<String> fromStatuses);
+
+	@Query(nativeQuery = true, value = "update eatza.orders set status = ?3, version = version + 1, update_date_time = localtimestamp "
+			+ "where id = ?1 and version = ?2 and status in (?4) returning *")
+	@Transactional
+	Optional<Order> updateStatusIfCurrent(Long orderId, Long version, String status, Collection<String> fromStatuses);
+
+	/**
+	 * Moves the order to {@code target} in a single statement if the state machine allows
+	 * it from the status the row holds at that moment. Empty when the order does not exist
+	 * or was not in a state it could move from.
+	 */
+	default Optional<Order> transitionStatus(Long orderId, OrderStatus target) {
+		return updateStatusIfIn(orderId, target.name(), OrderStatus.sourcesOf(target));
+	}
+
+	/**
+	 * As {@link #transitionStatus(Long, OrderStatus)}, only while the order is still at
+	 * {@code version}, so a change decided on an older copy of the order is rejected.
+	 */
+	default Optional<Order> transitionStatusAtVersion(Long orderId, Long version, OrderStatus target) {
+		return updateStatusIfCurrent(orderId, version, target.name(), OrderStatus.sourcesOf(target));
+	}
+
+	/**
+	 * As {@link #transitionStatus(Long, OrderStatus)}, for an order of the given customer.
+	 */
+	default Optional<Order> transitionStatus(Long orderId, Long customerId, OrderStatus target) {
+		return updateStatusIfIn(orderId, customerId, target.name(), OrderStatus.sourcesOf(target));
+	}
 	
 }
@@ -11,7 +11,7 @@ import com.eatza.order.model.OrderedItem;
 
 public interface OrderedItemRepository extends JpaRepository<OrderedItem, Long> {
 	
-	@Query(value = "SELECT sum(price) FROM eatza.ordered_items WHERE order_id = ?1", nativeQuery = true)
+	@Query(value = "SELECT sum(price * quantity) FROM eatza.ordered_items WHERE order_id = ?1", nativeQuery = true)
 	Double findAmountByOrderId(Long orderId);
 	
 	@Query(value = "SELECT * FROM eatza.ordered_items WHERE order_id = ?1", nativeQuery = true)
@@ -0,0 +1,15 @@
+package com.eatza.order.service.catalogservice;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.exception.OrderException;
+
+public interface CatalogService {
+
+	public Map<Long, ItemFetchDto> getItemsByIds(Collection<Long> itemIds) throws OrderException;
+	public Map<Long, ItemFetchDto> getItemsByIds(Collection<Long> itemIds, ItemValidator validator) throws OrderException;
+	public void evictCatalogEntries(Collection<Long> itemIds, Collection<Long> menuIds);
+
+}
@@ -0,0 +1,284 @@
+package com.eatza.order.service.catalogservice;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.exception.OrderException;
+import com.eatza.order.loadbalancer.InstanceSelection;
+import com.eatza.order.service.catalogservice.ItemCatalogCache.CachedItem;
+import com.eatza.order.util.CredentialContext;
+import com.eatza.order.util.FanOut;
+import com.eatza.order.util.Hedger;
+import com.eatza.order.util.ServiceCredentialProvider;
+import com.eatza.order.util.SingleFlight;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+@Service
+@Setter
+@Slf4j
+public class CatalogServiceImpl implements CatalogService {
+
+	@Autowired
+	RestTemplate restTemplate;
+
+	@Autowired
+	@Qualifier("catalogExecutor")
+	Executor catalogExecutor;
+
+	@Autowired
+	ItemCatalogCache itemCatalogCache;
+
+	@Autowired
+	MenuAvailabilityCache menuAvailabilityCache;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Autowired
+	CircuitBreaker catalogCircuitBreaker;
+
+	@Autowired
+	Bulkhead catalogBulkhead;
+
+	@Autowired(required = false)
+	Hedger itemLookupHedger;
+
+	@Autowired
+	ServiceCredentialProvider serviceCredentialProvider;
+
+	@Value("${restaurant.service.search-url.item}")
+	private String restaurantServiceItemUrl;
+
+	@Value("${restaurant.service.search-url.items:}")
+	private String restaurantServiceItemsUrl;
+
+	@Value("${restaurant.service.item-lookup.parallelism:8}")
+	private int parallelism;
+
+	@Value("${restaurant.service.item-lookup.batch-reprobe-interval:10m}")
+	private Duration batchReprobeInterval;
+
+	// pushed forward whenever the restaurant service tells us it has no batch endpoint
+	private final AtomicLong batchRetryAtNanos = new AtomicLong(System.nanoTime());
+
+	private final SingleFlight<Long, ItemFetchDto> itemLookups = new SingleFlight<>();
+
+	@PostConstruct
+	public void bindMetrics() {
+		FunctionCounter.builder("catalog.items.coalesced", itemLookups, SingleFlight::coalescedCount)
+				.description("Item lookups served by an identical request already in flight")
+				.register(meterRegistry);
+		if(itemLookupHedger != null) {
+			FunctionCounter.builder("catalog.items.hedges.sent", itemLookupHedger, Hedger::hedgesSent)
+					.description("Item lookups duplicated because the first call was slow")
+					.register(meterRegistry);
+			FunctionCounter.builder("catalog.items.hedges.won", itemLookupHedger, Hedger::hedgesWon)
+					.description("Hedged item lookups that answered before the first call")
+					.register(meterRegistry);
+		}
+	}
+
+	@Override
+	public Map<Long, ItemFetchDto> getItemsByIds(Collection<Long> itemIds) throws OrderException {
+		return getItemsByIds(itemIds, (itemId, item) -> {});
+	}
+
+	@Override
+	public Map<Long, ItemFetchDto> getItemsByIds(Collection<Long> itemIds, ItemValidator validator) throws OrderException {
+		Map<Long, ItemFetchDto> items = new HashMap<>();
+		Set<Long> missingIds = new LinkedHashSet<>();
+		for(Long itemId: new LinkedHashSet<>(itemIds)) {
+			CachedItem cached = itemCatalogCache.get(itemId);
+			if(cached == null) {
+				missingIds.add(itemId);
+				continue;
+			}
+			validator.validate(itemId, cached.getItem());
+			if(!cached.isNegative())
+				items.put(itemId, cached.getItem());
+		}
+		if(!missingIds.isEmpty()) {
+			try {
+				items.putAll(fetchRemote(missingIds, validator));
+			} catch(RejectedExecutionException ex) {
+				log.debug("Item lookup rejected by a saturated catalog executor: {}", ex.getMessage());
+				throw new OrderException("Restaurant service is currently unavailable, please try again later");
+			}
+		}
+		return items;
+	}
+
+	@Override
+	public void evictCatalogEntries(Collection<Long> itemIds, Collection<Long> menuIds) {
+		if(itemIds != null) {
+			for(Long itemId: itemIds) {
+				itemCatalogCache.invalidate(itemId);
+			}
+		}
+		if(menuIds != null) {
+			for(Long menuId: menuIds) {
+				itemCatalogCache.invalidateMenu(menuId);
+				menuAvailabilityCache.invalidate(menuId);
+			}
+		}
+		log.debug("Evicted catalog entries for items {} and menus {}", itemIds, menuIds);
+	}
+
+	/**
+	 * Runs one call to the restaurant service through the circuit breaker and the
+	 * bulkhead, so an outage or a saturated restaurant service is refused straight away
+	 * instead of after a timeout. Only the HTTP call itself is guarded: queueing in the
+	 * fan-out, waiting on a coalesced load and validation are not counted against it.
+	 */
+	private <T> T guarded(Supplier<T> remoteCall) {
+		try {
+			return CircuitBreaker.decorateSupplier(catalogCircuitBreaker,
+					Bulkhead.decorateSupplier(catalogBulkhead, remoteCall)).get();
+		} catch(CallNotPermittedException | BulkheadFullException ex) {
+			log.debug("Restaurant service call refused: {}", ex.getMessage());
+			throw new OrderException("Restaurant service is currently unavailable, please try again later");
+		}
+	}
+
+	private Map<Long, ItemFetchDto> fetchRemote(Set<Long> itemIds, ItemValidator validator) {
+		HttpEntity<String> entity = buildEntity();
+		if(StringUtils.hasText(restaurantServiceItemsUrl) && System.nanoTime() - batchRetryAtNanos.get() >= 0) {
+			Map<Long, ItemFetchDto> items = itemLookups.executeAll(itemIds, ids -> fetchBatchOrSingles(ids, entity));
+			for(Long itemId: itemIds) {
+				validator.validate(itemId, items.get(itemId));
+			}
+			return items;
+		}
+		return FanOut.run(itemIds, parallelism, catalogExecutor, itemId -> {
+			ItemFetchDto item = itemLookups.execute(itemId, () -> {
+				long loadStamp = itemCatalogCache.startLoad();
+				ItemFetchDto fetched = fetchItem(itemId, entity);
+				itemCatalogCache.put(itemId, fetched, loadStamp);
+				return fetched;
+			});
+			validator.validate(itemId, item);
+			return item;
+		});
+	}
+
+	private Map<Long, ItemFetchDto> fetchBatchOrSingles(Set<Long> itemIds, HttpEntity<String> entity) {
+		long loadStamp = itemCatalogCache.startLoad();
+		Map<Long, ItemFetchDto> items = fetchBatch(itemIds, entity);
+		if(items == null)
+			items = FanOut.run(itemIds, parallelism, catalogExecutor, itemId -> fetchItem(itemId, entity));
+		for(Long itemId: itemIds) {
+			itemCatalogCache.put(itemId, items.get(itemId), loadStamp);
+		}
+		return items;
+	}
+
+	private HttpEntity<String> buildEntity() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		// read on the request thread, the entity then travels with every lookup it spawns
+		String token = serviceCredentialProvider.currentToken();
+		if(token == null)
+			token = CredentialContext.currentToken();
+		if(token != null)
+			headers.setBearerAuth(token);
+		return new HttpEntity<>(headers);
+	}
+
+	/**
+	 * Returns null when the restaurant service does not expose the multi-get endpoint,
+	 * so the caller can fall back to single lookups. The endpoint is probed again after
+	 * {@code batchReprobeInterval}, in case it has been deployed since.
+	 */
+	private Map<Long, ItemFetchDto> fetchBatch(Set<Long> itemIds, HttpEntity<String> entity) {
+		Map<String, String> uriVariables = new HashMap<>();
+		uriVariables.put("itemIds", itemIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+		try {
+			log.debug("Calling restaurant service to get {} items in one call", itemIds.size());
+			ResponseEntity<ItemFetchDto[]> response = guarded(() ->
+					restTemplate.exchange(restaurantServiceItemsUrl, HttpMethod.GET, entity, ItemFetchDto[].class, uriVariables));
+			Map<Long, ItemFetchDto> items = new HashMap<>();
+			if(response.hasBody()) {
+				for(ItemFetchDto item: response.getBody()) {
+					if(item != null && itemIds.contains(item.getId()))
+						items.put(item.getId(), item);
+				}
+			}
+			return items;
+		} catch(RestClientResponseException re) {
+			if(isMissingBatchEndpoint(re.getStatusCode().value())) {
+				log.debug("Restaurant service has no batch item endpoint, using single lookups for {}", batchReprobeInterval);
+				batchRetryAtNanos.set(System.nanoTime() + batchReprobeInterval.toNanos());
+				return null;
+			}
+			throw re;
+		}
+	}
+
+	/**
+	 * Answers that mean the route is missing, not that this call was refused: a 400 is
+	 * what the single item route gives when it matches /item/ids and cannot parse "ids".
+	 */
+	private boolean isMissingBatchEndpoint(int status) {
+		return status == HttpStatus.BAD_REQUEST.value()
+				|| status == HttpStatus.NOT_FOUND.value()
+				|| status == HttpStatus.METHOD_NOT_ALLOWED.value()
+				|| status == HttpStatus.NOT_IMPLEMENTED.value();
+	}
+
+	private ItemFetchDto fetchItem(Long itemId, HttpEntity<String> entity) {
+		if(itemLookupHedger == null)
+			return fetchItemOnce(itemId, entity);
+		// the hedge goes to another instance than the first attempt, or is not sent at all
+		InstanceSelection selection = new InstanceSelection();
+		return itemLookupHedger.call(
+				() -> selection.first(() -> fetchItemOnce(itemId, entity)),
+				() -> selection.other(() -> fetchItemOnce(itemId, entity)),
+				selection::hasAlternative);
+	}
+
+	private ItemFetchDto fetchItemOnce(Long itemId, HttpEntity<String> entity) {
+		Map<String, Long> uriVariables = new HashMap<>();
+		uriVariables.put("itemId", itemId);
+
+		log.debug("Calling restaurant service to get item details");
+		ResponseEntity<ItemFetchDto> item = guarded(() ->
+				restTemplate.exchange(restaurantServiceItemUrl, HttpMethod.GET, entity, ItemFetchDto.class, uriVariables));
+		return item.hasBody() ? item.getBody() : null;
+	}
+
+}
@@ -0,0 +1,167 @@
+package com.eatza.order.service.catalogservice;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process copy of the restaurant item catalog. Entries expire a fixed time
+ * after they were written; item ids the restaurant service did not know are kept as
+ * negative entries with a shorter lifetime.
+ *
+ * Evictions are remembered per item and per menu for {@code fenceWindow}, so an item a
+ * load fetched before its eviction is not written back once the load completes.
+ */
+@Component
+public class ItemCatalogCache {
+
+	public static final String CACHE_NAME = "catalogItems";
+
+	private final Cache<Long, CachedItem> cache;
+
+	// System.nanoTime() of the latest eviction per item id and per menu id
+	private final Cache<Long, Long> itemEvictions;
+	private final Cache<Long, Long> menuEvictions;
+
+	private final long fenceWindowNanos;
+
+	public ItemCatalogCache(MeterRegistry meterRegistry,
+			@Value("${restaurant.service.item-cache.ttl:5m}") Duration ttl,
+			@Value("${restaurant.service.item-cache.negative-ttl:30s}") Duration negativeTtl,
+			@Value("${restaurant.service.item-cache.max-size:10000}") long maxSize,
+			@Value("${restaurant.service.item-cache.fence-window:1m}") Duration fenceWindow) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new WriteTimeExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+				.recordStats()
+				.build();
+		this.itemEvictions = Caffeine.newBuilder().expireAfterWrite(fenceWindow).build();
+		this.menuEvictions = Caffeine.newBuilder().expireAfterWrite(fenceWindow).build();
+		this.fenceWindowNanos = fenceWindow.toNanos();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * Returns null on a miss. A hit wraps either the catalog item or, for a negative
+	 * entry, null.
+	 */
+	public CachedItem get(Long itemId) {
+		return cache.getIfPresent(itemId);
+	}
+
+	/**
+	 * Taken before fetching items from the restaurant service and handed back to
+	 * {@link #put(Long, ItemFetchDto, long)} with what the fetch returned.
+	 */
+	public long startLoad() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Writes an item unconditionally; items fetched remotely go through
+	 * {@link #put(Long, ItemFetchDto, long)} instead.
+	 */
+	public void put(Long itemId, ItemFetchDto item) {
+		cache.put(itemId, new CachedItem(item));
+	}
+
+	/**
+	 * Drops the write if the item or its menu was evicted since the load started, or if
+	 * the load outlived the fence window. The check is repeated after the write, since
+	 * an eviction racing with it may not have seen the new entry.
+	 */
+	public void put(Long itemId, ItemFetchDto item, long loadStamp) {
+		if(evictedSince(itemId, item, loadStamp))
+			return;
+		CachedItem cached = new CachedItem(item);
+		cache.put(itemId, cached);
+		if(evictedSince(itemId, item, loadStamp))
+			cache.asMap().remove(itemId, cached);
+	}
+
+	public void invalidate(Long itemId) {
+		itemEvictions.put(itemId, System.nanoTime());
+		cache.invalidate(itemId);
+	}
+
+	public void invalidateMenu(Long menuId) {
+		menuEvictions.put(menuId, System.nanoTime());
+		cache.asMap().values().removeIf(cached -> menuId.equals(menuIdOf(cached.getItem())));
+	}
+
+	private boolean evictedSince(Long itemId, ItemFetchDto item, long loadStamp) {
+		if(System.nanoTime() - loadStamp >= fenceWindowNanos)
+			return true;
+		if(evictedSince(itemEvictions.getIfPresent(itemId), loadStamp))
+			return true;
+		Long menuId = menuIdOf(item);
+		return menuId != null && evictedSince(menuEvictions.getIfPresent(menuId), loadStamp);
+	}
+
+	// an eviction in the same nanosecond as the stamp may have followed it, so it counts
+	private static boolean evictedSince(Long evictedAt, long loadStamp) {
+		return evictedAt != null && evictedAt - loadStamp >= 0;
+	}
+
+	private static Long menuIdOf(ItemFetchDto item) {
+		return item != null && item.getMenu() != null ? item.getMenu().getId() : null;
+	}
+
+	public long size() {
+		cache.cleanUp();
+		return cache.estimatedSize();
+	}
+
+	public static final class CachedItem {
+
+		private final ItemFetchDto item;
+
+		CachedItem(ItemFetchDto item) {
+			this.item = item;
+		}
+
+		public ItemFetchDto getItem() {
+			return item;
+		}
+
+		public boolean isNegative() {
+			return item == null;
+		}
+	}
+
+	private static final class WriteTimeExpiry implements Expiry<Long, CachedItem> {
+
+		private final long ttlNanos;
+		private final long negativeTtlNanos;
+
+		WriteTimeExpiry(long ttlNanos, long negativeTtlNanos) {
+			this.ttlNanos = ttlNanos;
+			this.negativeTtlNanos = negativeTtlNanos;
+		}
+
+		@Override
+		public long expireAfterCreate(Long key, CachedItem value, long currentTime) {
+			return value.isNegative() ? negativeTtlNanos : ttlNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(Long key, CachedItem value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(Long key, CachedItem value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.eatza.order.service.catalogservice;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.exception.OrderException;
+
+/**
+ * Checks a single looked up item while the rest of the order is still being fetched.
+ * {@code item} is null when the restaurant service does not know the item id.
+ */
+@FunctionalInterface
+public interface ItemValidator {
+
+	public void validate(Long itemId, ItemFetchDto item) throws OrderException;
+
+}
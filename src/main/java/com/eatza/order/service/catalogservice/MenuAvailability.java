@@ -0,0 +1,35 @@
+package com.eatza.order.service.catalogservice;
+
+/**
+ * A menu's active window compiled once from the restaurant service's hour strings.
+ * Both ends are inclusive; a window whose start is after its end runs overnight.
+ */
+public final class MenuAvailability {
+
+	private final String activeFrom;
+	private final String activeTill;
+	private final int fromHour;
+	private final int tillHour;
+
+	private MenuAvailability(String activeFrom, String activeTill) {
+		this.activeFrom = activeFrom;
+		this.activeTill = activeTill;
+		this.fromHour = Integer.parseInt(activeFrom.trim());
+		this.tillHour = Integer.parseInt(activeTill.trim());
+	}
+
+	public static MenuAvailability compile(String activeFrom, String activeTill) {
+		return new MenuAvailability(activeFrom, activeTill);
+	}
+
+	public boolean isOpenAt(int hour) {
+		if(fromHour <= tillHour)
+			return hour >= fromHour && hour <= tillHour;
+		return hour >= fromHour || hour <= tillHour;
+	}
+
+	boolean isCompiledFrom(String activeFrom, String activeTill) {
+		return this.activeFrom.equals(activeFrom) && this.activeTill.equals(activeTill);
+	}
+
+}
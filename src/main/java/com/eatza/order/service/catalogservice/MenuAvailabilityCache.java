@@ -0,0 +1,60 @@
+package com.eatza.order.service.catalogservice;
+
+import java.time.Clock;
+import java.time.LocalTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eatza.order.dto.MenuFetchDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Compiled {@link MenuAvailability} per menu id. A cached window is reused for as long
+ * as the menu reports the same hours, so a check is a map lookup and two int compares.
+ */
+@Component
+public class MenuAvailabilityCache {
+
+	private final Cache<Long, MenuAvailability> windows;
+
+	private final Clock clock;
+
+	public MenuAvailabilityCache(Clock clock,
+			@Value("${restaurant.service.menu-cache.max-size:10000}") long maxSize) {
+		this.clock = clock;
+		this.windows = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.build();
+	}
+
+	/**
+	 * The hour of day in the restaurants' time zone. Read it once per request and pass it
+	 * to every {@link #isAvailable(MenuFetchDto, int)} check of that request.
+	 */
+	public int currentHour() {
+		return LocalTime.now(clock).getHour();
+	}
+
+	public boolean isAvailable(MenuFetchDto menu, int hour) {
+		return availabilityOf(menu).isOpenAt(hour);
+	}
+
+	public void invalidate(Long menuId) {
+		windows.invalidate(menuId);
+	}
+
+	private MenuAvailability availabilityOf(MenuFetchDto menu) {
+		if(menu.getId() == null)
+			return MenuAvailability.compile(menu.getActiveFrom(), menu.getActiveTill());
+
+		MenuAvailability availability = windows.getIfPresent(menu.getId());
+		if(availability == null || !availability.isCompiledFrom(menu.getActiveFrom(), menu.getActiveTill())) {
+			availability = MenuAvailability.compile(menu.getActiveFrom(), menu.getActiveTill());
+			windows.put(menu.getId(), availability);
+		}
+		return availability;
+	}
+
+}
@@ -8,8 +8,10 @@ import com.eatza.order.model.OrderedItem;
 public interface ItemService {
 	
 	public OrderedItem saveItem(OrderedItem item) throws OrderException;
+	public List<OrderedItem> saveItems(List<OrderedItem> items) throws OrderException;
 	public Double findAmountbyOrderId(Long orderId) throws OrderException;
 	public void deleteItemsById(Long id) throws OrderException;
+	public void deleteItems(List<Long> ids) throws OrderException;
 	public List<OrderedItem> findbyOrderId(Long orderId) throws OrderException;
 	
 
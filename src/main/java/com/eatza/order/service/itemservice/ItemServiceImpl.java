@@ -26,6 +26,20 @@ public class ItemServiceImpl implements ItemService {
 		}
 	}
 
+	/**
+	 * Saves all items of an order in one go, so they reach the database as a single JDBC
+	 * batch instead of one insert round trip per item.
+	 */
+	@Override
+	public List<OrderedItem> saveItems(List<OrderedItem> items) throws OrderException {
+		try {
+			log.debug("In save items method, saving {} items", items.size());
+			return itemRepository.saveAll(items);
+		} catch(Exception ex) {
+			throw new OrderException(ex.getMessage());
+		}
+	}
+
 	@Override
 	public Double findAmountbyOrderId(Long orderId) throws OrderException {
 		try {
@@ -45,6 +59,19 @@ public class ItemServiceImpl implements ItemService {
 		}
 	}
 
+	/**
+	 * Removes the given items with a single delete statement.
+	 */
+	@Override
+	public void deleteItems(List<Long> ids) throws OrderException {
+		try {
+			log.debug("In delete items method, deleting {} items", ids.size());
+			itemRepository.deleteAllByIdInBatch(ids);
+		} catch(Exception ex) {
+			throw new OrderException(ex.getMessage());
+		}
+	}
+
 	@Override
 	public List<OrderedItem> findbyOrderId(Long orderId) throws OrderException {
 		try {
@@ -0,0 +1,117 @@
+package com.eatza.order.service.orderservice;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.eatza.order.exception.OrderException;
+import com.eatza.order.model.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers the order placed for each recent {@code Idempotency-Key} together with a
+ * hash of the request that placed it. A retry with the same key and request gets the
+ * stored order back; one arriving while the first attempt is still running waits for
+ * it instead. Failed attempts are forgotten, so the client's next retry runs afresh.
+ */
+@Component
+public class IdempotencyStore {
+
+	public static final String CACHE_NAME = "idempotencyKeys";
+
+	private final Cache<String, Attempt> cache;
+
+	private final Duration waitTimeout;
+
+	private final Counter replays;
+
+	private final Counter mismatches;
+
+	public IdempotencyStore(MeterRegistry meterRegistry,
+			@Value("${order.idempotency.ttl:24h}") Duration ttl,
+			@Value("${order.idempotency.max-size:10000}") long maxSize,
+			@Value("${order.idempotency.wait-timeout:10s}") Duration waitTimeout) {
+		this.waitTimeout = waitTimeout;
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+		this.replays = Counter.builder("order.idempotency.replays")
+				.description("Requests answered with the order placed by an earlier attempt")
+				.register(meterRegistry);
+		this.mismatches = Counter.builder("order.idempotency.mismatches")
+				.description("Requests rejected for reusing a key with a different body")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Runs {@code placer} for the first request seen with {@code key}, and answers every
+	 * later one with its outcome. Rejects a key reused for a different request.
+	 */
+	public Order execute(String key, String requestHash, Supplier<Order> placer) {
+		Attempt owned = new Attempt(requestHash);
+		Attempt existing = cache.asMap().putIfAbsent(key, owned);
+		if(existing != null) {
+			if(!existing.requestHash.equals(requestHash)) {
+				mismatches.increment();
+				throw new OrderException("Idempotency-Key was already used for a different request");
+			}
+			replays.increment();
+			return await(existing);
+		}
+		try {
+			Order order = placer.get();
+			owned.result.complete(order);
+			return order;
+		} catch(RuntimeException ex) {
+			cache.asMap().remove(key, owned);
+			owned.result.completeExceptionally(ex);
+			throw ex;
+		}
+	}
+
+	public long size() {
+		cache.cleanUp();
+		return cache.estimatedSize();
+	}
+
+	private Order await(Attempt attempt) {
+		try {
+			return attempt.result.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new OrderException("Interrupted while waiting for an earlier request with the same Idempotency-Key");
+		} catch(TimeoutException te) {
+			throw new OrderException("An earlier request with the same Idempotency-Key is still in progress");
+		} catch(ExecutionException ee) {
+			if(ee.getCause() instanceof RuntimeException)
+				throw (RuntimeException) ee.getCause();
+			throw new IllegalStateException(ee.getCause());
+		}
+	}
+
+	private static final class Attempt {
+
+		private final String requestHash;
+
+		private final CompletableFuture<Order> result = new CompletableFuture<>();
+
+		Attempt(String requestHash) {
+			this.requestHash = requestHash;
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.eatza.order.service.orderservice;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eatza.order.kafka.OrderInvalidationBroadcaster;
+import com.eatza.order.model.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.Setter;
+
+/**
+ * Bounded read-through copy of orders served to clients polling for status changes.
+ * Writers evict the entry once their change is committed; an eviction racing an
+ * in-flight load waits for that load and then discards it, so a pre-commit read is
+ * never left behind. Orders that do not exist are not cached. Evictions are broadcast
+ * to the other replicas once committed, which lets every node keep entries for long.
+ */
+@Component
+public class OrderCache {
+
+	public static final String CACHE_NAME = "orders";
+
+	private final Cache<Long, Order> cache;
+
+	@Autowired(required = false)
+	@Setter
+	OrderInvalidationBroadcaster orderInvalidationBroadcaster;
+
+	public OrderCache(MeterRegistry meterRegistry,
+			@Value("${order.cache.ttl:10m}") Duration ttl,
+			@Value("${order.cache.max-size:10000}") long maxSize) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(ttl)
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public Optional<Order> get(Long orderId, Function<Long, Optional<Order>> loader) {
+		return Optional.ofNullable(cache.get(orderId, id -> loader.apply(id).orElse(null)));
+	}
+
+	/**
+	 * For orders that did not exist before, so no reader can hold an older copy.
+	 */
+	public void put(Order order) {
+		cache.put(order.getId(), order);
+	}
+
+	/**
+	 * Drops the entry now and, inside a transaction, again after it completes so a read
+	 * made between the two cannot outlive the commit. Other replicas are told only after
+	 * the commit, for the same reason.
+	 */
+	public void evict(Long orderId) {
+		cache.invalidate(orderId);
+		if(TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCompletion(int status) {
+					cache.invalidate(orderId);
+					if(status == STATUS_COMMITTED)
+						broadcast(orderId);
+				}
+			});
+		} else {
+			broadcast(orderId);
+		}
+	}
+
+	/**
+	 * For invalidations received from other replicas, which must not be sent on again.
+	 */
+	public void evictLocally(Long orderId) {
+		cache.invalidate(orderId);
+	}
+
+	private void broadcast(Long orderId) {
+		if(orderInvalidationBroadcaster != null)
+			orderInvalidationBroadcaster.publish(orderId);
+	}
+
+	public long size() {
+		cache.cleanUp();
+		return cache.estimatedSize();
+	}
+
+}
@@ -0,0 +1,86 @@
+package com.eatza.order.service.orderservice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderedItem;
+
+import lombok.Getter;
+
+/**
+ * Line-level difference between the items persisted for an order and the quantities it
+ * should now have, keyed by catalog item id. Kept lines found in {@code catalog} are
+ * repriced from it, the others keep their price; a line only counts as changed when its
+ * quantity, name or price actually moved.
+ */
+@Getter
+final class OrderItemsDiff {
+
+	private final List<OrderedItem> added = new ArrayList<>();
+
+	private final List<OrderedItem> changed = new ArrayList<>();
+
+	private final List<Long> removedIds = new ArrayList<>();
+
+	/** Every line of the order once the diff is applied. */
+	private final List<OrderedItem> lines = new ArrayList<>();
+
+	private OrderItemsDiff() {
+	}
+
+	/**
+	 * Changed lines are updated in place on the given persisted instances.
+	 */
+	static OrderItemsDiff between(List<OrderedItem> persisted, Map<Long, Integer> quantities,
+			Map<Long, ItemFetchDto> catalog, Order order) {
+		OrderItemsDiff diff = new OrderItemsDiff();
+		Set<Long> kept = new HashSet<>();
+		for(OrderedItem line: persisted) {
+			Integer quantity = quantities.get(line.getItemId());
+			// a second line for the same item can only be left over from older writes
+			if(quantity == null || !kept.add(line.getItemId())) {
+				diff.removedIds.add(line.getId());
+				continue;
+			}
+			ItemFetchDto item = catalog.get(line.getItemId());
+			boolean repriced = item != null
+					&& (line.getPrice() != item.getPrice() || !item.getName().equals(line.getName()));
+			if(line.getQuantity() != quantity || repriced) {
+				line.setQuantity(quantity);
+				if(item != null) {
+					line.setPrice(item.getPrice());
+					line.setName(item.getName());
+				}
+				diff.changed.add(line);
+			}
+			diff.lines.add(line);
+		}
+		for(Map.Entry<Long, Integer> quantity: quantities.entrySet()) {
+			if(kept.contains(quantity.getKey()))
+				continue;
+			ItemFetchDto item = catalog.get(quantity.getKey());
+			OrderedItem line = new OrderedItem(item.getName(), quantity.getValue(), item.getPrice(), order, quantity.getKey());
+			diff.added.add(line);
+			diff.lines.add(line);
+		}
+		return diff;
+	}
+
+	/** Lines to hand to a single saveAll: updates of kept lines followed by inserts. */
+	List<OrderedItem> toSave() {
+		List<OrderedItem> toSave = new ArrayList<>(changed);
+		toSave.addAll(added);
+		return Collections.unmodifiableList(toSave);
+	}
+
+	boolean isEmpty() {
+		return added.isEmpty() && changed.isEmpty() && removedIds.isEmpty();
+	}
+
+}
@@ -2,6 +2,7 @@ package com.eatza.order.service.orderservice;
 
 import java.util.Optional;
 
+import com.eatza.order.dto.OrderItemsPatchDto;
 import com.eatza.order.dto.OrderRequestDto;
 import com.eatza.order.dto.OrderUpdateDto;
 import com.eatza.order.dto.OrderUpdateResponseDto;
@@ -11,9 +12,11 @@ import com.eatza.order.model.Order;
 public interface OrderService  {
 	
 	public Order placeOrder(OrderRequestDto orderRequest) throws OrderException;
+	public Order placeOrder(OrderRequestDto orderRequest, String idempotencyKey) throws OrderException;
 	public boolean cancelOrder(Long orderId, Long customerId) throws OrderException;
 	public Optional<Order> getOrderById(Long id) throws OrderException;
 	public double getOrderAmountByOrderId(Long id) throws OrderException;
 	public OrderUpdateResponseDto updateOrder(OrderUpdateDto orderUpdateRequest) throws OrderException;
+	public OrderUpdateResponseDto patchOrderItems(Long orderId, OrderItemsPatchDto patchRequest) throws OrderException;
 
 }
@@ -1,24 +1,33 @@
 package com.eatza.order.service.orderservice;
 
-import java.time.LocalTime;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.dto.OrderItemOperationDto;
+import com.eatza.order.dto.OrderItemsPatchDto;
 import com.eatza.order.dto.OrderRequestDto;
 import com.eatza.order.dto.OrderUpdateDto;
 import com.eatza.order.dto.OrderUpdateResponseDto;
@@ -26,17 +35,21 @@ import com.eatza.order.dto.OrderedItemsDto;
 import com.eatza.order.exception.OrderException;
 import com.eatza.order.kafka.KafkaProducer;
 import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
 import com.eatza.order.model.OrderedItem;
 import com.eatza.order.repository.OrderRepository;
+import com.eatza.order.service.catalogservice.CatalogService;
+import com.eatza.order.service.catalogservice.MenuAvailabilityCache;
 import com.eatza.order.service.itemservice.ItemService;
-import com.eatza.order.util.JwtTokenUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 
 @Service
-@Transactional
 @Setter
 @Slf4j
 public class OrderServiceImpl implements OrderService {
@@ -51,61 +64,82 @@ public class OrderServiceImpl implements OrderService {
 	@Autowired
 	KafkaProducer kafkaProducer;
 
-	@Value("${restaurant.service.search-url.item}")
-	private String restaurantServiceItemUrl;
+	@Autowired
+	CatalogService catalogService;
+
+	@Autowired
+	MenuAvailabilityCache menuAvailabilityCache;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	OrderCache orderCache;
+
+	@Autowired
+	IdempotencyStore idempotencyStore;
 
 	@Autowired
-	RestTemplate restTemplate;
+	MeterRegistry meterRegistry;
 
+	@Value("${order.write.max-attempts:3}")
+	private int maxWriteAttempts;
+
+	private Counter updateConflicts;
+
+	private Counter patchConflicts;
+
+	@PostConstruct
+	public void bindMetrics() {
+		updateConflicts = Counter.builder("order.version.conflicts")
+				.description("Order writes that found the order changed since it was read")
+				.tag("operation", "update")
+				.register(meterRegistry);
+		patchConflicts = Counter.builder("order.version.conflicts")
+				.description("Order writes that found the order changed since it was read")
+				.tag("operation", "patch")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Validates and prices every item against the restaurant catalog first, without a
+	 * transaction or a database connection, and only then writes the order and its items
+	 * together in one short transaction.
+	 */
 	@Override
 	public Order placeOrder(OrderRequestDto orderRequest) throws OrderException {
 		try {
-			log.debug("In place order method, creating order object to persist");
-			Long customerId = orderRequest.getCustomerId();
-			Order order = new Order(customerId, "CREATED", orderRequest.getRestaurantId());
-			log.debug("saving order in db");
-			Order savedOrder = orderRepository.save(order);
-	
-			log.debug("Getting all ordered items to persist");
+			log.debug("In place order method, validating ordered items");
 			List<OrderedItemsDto> itemsDtoList = orderRequest.getItems();
 			for(OrderedItemsDto itemDto: itemsDtoList) {
-					
 				if( itemDto.getQuantity()<=0) {
-					orderRepository.delete(order);
 					throw new OrderException("Quantity of item cannot be 0");
 				}
-				
-				HttpHeaders headers = new HttpHeaders();
-				headers.setContentType(MediaType.APPLICATION_JSON);
-				headers.setBearerAuth(JwtTokenUtil.globalScopeToken);
-				
-				HttpEntity<String> entity = new HttpEntity<>(headers);
-				
-				Map<String, Long> uriVariables = new HashMap<>();
-				uriVariables.put("itemId", itemDto.getItemId());
-				
-				log.debug("Calling restaurant service to get item details");
-				ResponseEntity<ItemFetchDto> item = restTemplate.exchange(restaurantServiceItemUrl, HttpMethod.GET, entity, ItemFetchDto.class, uriVariables);
-	
-				if(!item.hasBody() ) {
-					orderRepository.delete(order);
-					throw new OrderException("Item not found");
-				} 
-				if(!(item.getBody().getMenu().getRestaurant().getId().equals(order.getRestaurantId()))) {
-					orderRepository.delete(order);
-					throw new OrderException("Item not in given restaurant");
+			}
+
+			log.debug("Calling restaurant service to get item details");
+			Long restaurantId = orderRequest.getRestaurantId();
+			int hour = menuAvailabilityCache.currentHour();
+			Map<Long, ItemFetchDto> items = catalogService.getItemsByIds(itemIdsOf(itemsDtoList), (itemId, item) -> 
+				validateItem(item, restaurantId, hour, "Item not found", "Item not in given restaurant"));
+
+			log.debug("saving order and ordered items in db");
+			Order savedOrder = transactionTemplate.execute(status -> {
+				Order order = new Order(orderRequest.getCustomerId(), OrderStatus.CREATED.name(), restaurantId);
+				List<OrderedItem> itemsToPersist = new ArrayList<>();
+				for(OrderedItemsDto itemDto: itemsDtoList) {
+					ItemFetchDto item = items.get(itemDto.getItemId());
+					itemsToPersist.add(new OrderedItem(item.getName(), itemDto.getQuantity(), item.getPrice(), order, item.getId()));
 				}
-				
-				Integer hour = LocalTime.now().getHour();
-				if(!(hour>= Integer.parseInt(item.getBody().getMenu().getActiveFrom())) ||
-						!(hour<= Integer.parseInt(item.getBody().getMenu().getActiveTill()))) {
-					orderRepository.delete(order);
-					throw new OrderException("Item currently unavailable in given restaurant");
+				order.setTotalAmountMinor(totalAmountMinorOf(itemsToPersist));
+				Order persistedOrder = orderRepository.save(order);
+				for(OrderedItem itemToPersist: itemsToPersist) {
+					itemToPersist.setOrder(persistedOrder);
 				}
-				
-				OrderedItem itemToPersist = new OrderedItem(item.getBody().getName(), itemDto.getQuantity(), item.getBody().getPrice(), savedOrder, item.getBody().getId());
-				itemService.saveItem(itemToPersist);
-			} 
+				itemService.saveItems(itemsToPersist);
+				return persistedOrder;
+			});
+			orderCache.put(savedOrder);
 			kafkaProducer.publishOrder(savedOrder);
 			log.debug("Saved order to db");
 			return savedOrder;
@@ -118,20 +152,50 @@ public class OrderServiceImpl implements OrderService {
 		}
 	}
 
+	/**
+	 * Places the order once per customer and key; retries of the same request get that
+	 * order back without touching the database or the catalog.
+	 */
+	@Override
+	public Order placeOrder(OrderRequestDto orderRequest, String idempotencyKey) throws OrderException {
+		if(idempotencyKey == null || idempotencyKey.isBlank())
+			return placeOrder(orderRequest);
+		if(idempotencyKey.length() > 255)
+			throw new OrderException("Idempotency-Key cannot be longer than 255 characters");
+		String key = orderRequest.getCustomerId() + ":" + idempotencyKey;
+		return idempotencyStore.execute(key, requestHashOf(orderRequest), () -> placeOrder(orderRequest));
+	}
+
+	private static String requestHashOf(OrderRequestDto orderRequest) {
+		StringBuilder canonical = new StringBuilder()
+				.append(orderRequest.getCustomerId()).append('|')
+				.append(orderRequest.getRestaurantId()).append('|');
+		if(orderRequest.getItems() != null) {
+			for(OrderedItemsDto itemDto: orderRequest.getItems()) {
+				canonical.append(itemDto.getItemId()).append('x').append(itemDto.getQuantity()).append(',');
+			}
+		}
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+					.digest(canonical.toString().getBytes(StandardCharsets.UTF_8)));
+		} catch(NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 	@Override
 	public boolean cancelOrder(Long orderId, Long customerId) throws OrderException {
 		try {
 			
 			log.debug("In cancel order service method, calling repository");
-			Optional<Order> order = orderRepository.findActiveOrderById(orderId, customerId);
+			Optional<Order> order = orderRepository.transitionStatus(orderId, customerId, OrderStatus.CANCELLED);
 			if(order.isPresent()) {
-				log.debug("Order was found in db");
-				order.get().setStatus("CANCELLED");
-				orderRepository.save(order.get());
+				log.debug("Order was cancelled in db");
+				orderCache.evict(orderId);
 				return true;
 			}
 			else {
-				log.debug("Order not found or already cancelled");
+				log.debug("Order not found or can no longer be cancelled");
 				return false;
 			}
 			
@@ -145,7 +209,7 @@ public class OrderServiceImpl implements OrderService {
 	public Optional<Order> getOrderById(Long id) throws OrderException {
 		try {
 			
-			return orderRepository.findById(id);
+			return orderCache.get(id, orderRepository::findById);
 		 
 		} catch(Exception exception) {
 			throw new OrderException(exception.getMessage());
@@ -156,10 +220,13 @@ public class OrderServiceImpl implements OrderService {
 	public double getOrderAmountByOrderId(Long orderId) throws OrderException {
 		try {
 			
-			Optional<Order> order = orderRepository.findById(orderId);
-			if(order.isPresent())
-				return itemService.findAmountbyOrderId(orderId);
-			throw new OrderException("Order not found");
+			Optional<Order> order = orderCache.get(orderId, orderRepository::findById);
+			if(!order.isPresent())
+				throw new OrderException("Order not found");
+			if(order.get().getTotalAmountMinor() != null)
+				return BigDecimal.valueOf(order.get().getTotalAmountMinor(), 2).doubleValue();
+			// orders written before the total was kept on the order itself
+			return itemService.findAmountbyOrderId(orderId);
 		
 		} catch(OrderException oex) {
 			throw new OrderException(oex.getMessage());
@@ -170,89 +237,201 @@ public class OrderServiceImpl implements OrderService {
 
 	}
 
+	/**
+	 * The order is written back at the version it was read with, so a concurrent cancel,
+	 * status event or update in between is detected on write. The whole read-check-write
+	 * is then redone, at most {@code order.write.max-attempts} times.
+	 */
 	@Override
 	public OrderUpdateResponseDto updateOrder(OrderUpdateDto orderUpdateRequest) throws OrderException {
-		try {
-			
-			Long customerId = orderUpdateRequest.getCustomerId();
-			Order order = new Order(customerId, "UPDATED", orderUpdateRequest.getRestaurantId());
-			Optional<Order> previouslyPersistedOrder = orderRepository.findActiveOrderById(orderUpdateRequest.getOrderId(), customerId);
-	
-			if(!previouslyPersistedOrder.isPresent()) {
-				throw new OrderException("Update Failed, respective order not found");
+		return withVersionRetry(orderUpdateRequest.getOrderId(), updateConflicts, () -> updateOrderOnce(orderUpdateRequest));
+	}
+
+	/**
+	 * Applies the operations in order to the order's current lines. Only the items being
+	 * added or re-quantified are checked against the restaurant catalog, and only the lines
+	 * they touch are written, whatever the size of the order.
+	 */
+	@Override
+	public OrderUpdateResponseDto patchOrderItems(Long orderId, OrderItemsPatchDto patchRequest) throws OrderException {
+		List<OrderItemOperationDto> operations = patchRequest.getOperations();
+		if(operations == null || operations.isEmpty()) {
+			throw new OrderException("Update Failed, no item operations given");
+		}
+		for(OrderItemOperationDto operation: operations) {
+			if(operation.getOp() == null) {
+				throw new OrderException("Update Failed, unknown item operation");
 			}
-			if(!(orderUpdateRequest.getRestaurantId().equals(previouslyPersistedOrder.get().getRestaurantId() ))) {
-				throw new OrderException("Update Failed, cannot change restaurants while updating order");
-	
+			if(operation.getOp() != OrderItemOperationDto.Op.REMOVE && operation.getQuantity()<=0) {
+				throw new OrderException("Update Failed, quantity cannot be zero");
 			}
-			List<OrderedItem> previouslyOrderedItems= itemService.findbyOrderId(previouslyPersistedOrder.get().getId());
-			order.setId(previouslyPersistedOrder.get().getId());
-			order.setCreateDateTime(previouslyPersistedOrder.get().getCreateDateTime());
-			List<OrderedItemsDto> itemsDtoList = orderUpdateRequest.getItems();
-			List<OrderedItem> updateItemsListToReturn = new ArrayList<>();
-			for(OrderedItemsDto itemDto: itemsDtoList) {
-				
-				if(itemDto.getQuantity()<=0 ) {
-					// deleting previously updated items 
-					for(OrderedItem itemsUpdateToBeReverted: updateItemsListToReturn) {
-						itemService.deleteItemsById(itemsUpdateToBeReverted.getId());
-					}
-					throw new OrderException("Update Failed, quantity cannot be zero");
-				}
-				
-				HttpHeaders headers = new HttpHeaders();
-				headers.setContentType(MediaType.APPLICATION_JSON);
-				headers.setBearerAuth(JwtTokenUtil.globalScopeToken);
-				
-				HttpEntity<String> entity = new HttpEntity<>(headers);
-				
-				Map<String, Long> uriVariables = new HashMap<>();
-				uriVariables.put("itemId", itemDto.getItemId());
-				
-				ResponseEntity<ItemFetchDto> item = 
-						restTemplate.exchange(restaurantServiceItemUrl, HttpMethod.GET, entity, ItemFetchDto.class, uriVariables);
-				if(!item.hasBody()) {
-					// deleting previously updated items : if any new updated item is not present
-					for(OrderedItem itemsUpdateToBeReverted: updateItemsListToReturn) {
-						itemService.deleteItemsById(itemsUpdateToBeReverted.getId());
-					}
-					throw new OrderException("Update Failed, item not found in menu");
-				}
-				if(item.getBody().getMenu().getRestaurant().getId()!=order.getRestaurantId() ) {
-					// deleting previously updated items 
-					for(OrderedItem itemsUpdateToBeReverted: updateItemsListToReturn) {
-						itemService.deleteItemsById(itemsUpdateToBeReverted.getId());
-					}
-					throw new OrderException("Update Failed, item does not belong to respective restaurant");
-				}
-	
-				Integer hour = LocalTime.now().getHour();
-				if(!(hour>= Integer.parseInt(item.getBody().getMenu().getActiveFrom())) &&
-						!(hour<= Integer.parseInt(item.getBody().getMenu().getActiveTill()))) {
-					for(OrderedItem itemsUpdateToBeReverted: updateItemsListToReturn) {
-						itemService.deleteItemsById(itemsUpdateToBeReverted.getId());
-					}
-					throw new OrderException("Item currently unavailable in given restaurant");
+		}
+		return withVersionRetry(orderId, patchConflicts, () -> patchOrderItemsOnce(orderId, patchRequest.getCustomerId(), operations));
+	}
+
+	/**
+	 * Counts every lost version race in {@code conflicts} before running {@code write} again.
+	 */
+	private OrderUpdateResponseDto withVersionRetry(Long orderId, Counter conflicts, Supplier<OrderUpdateResponseDto> write) {
+		for(int attempt = 1; ; attempt++) {
+			try {
+				return write.get();
+			} catch(OptimisticLockingFailureException conflict) {
+				conflicts.increment();
+				if(attempt >= maxWriteAttempts) {
+					log.info("Giving up update of order {} after {} conflicting writes", orderId, attempt);
+					throw new OrderException("Update Failed, order was changed concurrently, please try again");
 				}
-	
-				OrderedItem itemToPersist = new OrderedItem(item.getBody().getName(), itemDto.getQuantity(), item.getBody().getPrice(),previouslyPersistedOrder.get(), item.getBody().getId());
-				itemToPersist.setId(itemDto.getItemId());
-				OrderedItem savedItem = itemService.saveItem(itemToPersist);
-				updateItemsListToReturn.add(savedItem);
-				
-	
+				log.debug("Order {} changed while updating, retrying", orderId);
+			} catch(OrderException oex) {
+				throw oex;
+			} catch(Exception exception) {
+				throw new OrderException(exception.getMessage());
 			}
-			for(OrderedItem previouslyOrderedItem: previouslyOrderedItems) {
-				itemService.deleteItemsById(previouslyOrderedItem.getId());
+		}
+	}
+
+	private OrderUpdateResponseDto patchOrderItemsOnce(Long orderId, Long customerId, List<OrderItemOperationDto> operations) {
+		Order order = findEditableOrder(orderId, customerId);
+
+		Set<Long> touchedItemIds = new LinkedHashSet<>();
+		for(OrderItemOperationDto operation: operations) {
+			if(operation.getOp() != OrderItemOperationDto.Op.REMOVE)
+				touchedItemIds.add(operation.getItemId());
+		}
+		int hour = menuAvailabilityCache.currentHour();
+		Map<Long, ItemFetchDto> items = touchedItemIds.isEmpty() ? Collections.emptyMap()
+				: catalogService.getItemsByIds(new ArrayList<>(touchedItemIds), (itemId, item) ->
+					validateItem(item, order.getRestaurantId(), hour, "Update Failed, item not found in menu",
+							"Update Failed, item does not belong to respective restaurant"));
+
+		return applyLines(order, persistedLines -> patchedQuantities(persistedLines, operations), items);
+	}
+
+	private Map<Long, Integer> patchedQuantities(List<OrderedItem> persistedLines, List<OrderItemOperationDto> operations) {
+		Map<Long, Integer> quantities = new LinkedHashMap<>();
+		for(OrderedItem persistedLine: persistedLines) {
+			quantities.putIfAbsent(persistedLine.getItemId(), persistedLine.getQuantity());
+		}
+		for(OrderItemOperationDto operation: operations) {
+			applyItemOperation(quantities, operation);
+		}
+		if(quantities.isEmpty()) {
+			throw new OrderException("Update Failed, order must keep at least one item");
+		}
+		return quantities;
+	}
+
+	private void applyItemOperation(Map<Long, Integer> quantities, OrderItemOperationDto operation) throws OrderException {
+		Long itemId = operation.getItemId();
+		switch(operation.getOp()) {
+		case ADD:
+			quantities.merge(itemId, operation.getQuantity(), Integer::sum);
+			break;
+		case SET_QUANTITY:
+			if(quantities.replace(itemId, operation.getQuantity()) == null)
+				throw new OrderException("Update Failed, item " + itemId + " is not in the order");
+			break;
+		case REMOVE:
+			if(quantities.remove(itemId) == null)
+				throw new OrderException("Update Failed, item " + itemId + " is not in the order");
+			break;
+		}
+	}
+
+	private Order findEditableOrder(Long orderId, Long customerId) throws OrderException {
+		Optional<Order> order = orderRepository.findActiveOrderById(orderId, customerId);
+		if(!order.isPresent()) {
+			throw new OrderException("Update Failed, respective order not found");
+		}
+		OrderStatus status = OrderStatus.of(order.get().getStatus());
+		if(status == null || !status.canTransitionTo(OrderStatus.UPDATED)) {
+			throw new OrderException("Update Failed, order can no longer be changed");
+		}
+		return order.get();
+	}
+
+	private OrderUpdateResponseDto updateOrderOnce(OrderUpdateDto orderUpdateRequest) throws OrderException {
+		Order order = findEditableOrder(orderUpdateRequest.getOrderId(), orderUpdateRequest.getCustomerId());
+		if(!(orderUpdateRequest.getRestaurantId().equals(order.getRestaurantId() ))) {
+			throw new OrderException("Update Failed, cannot change restaurants while updating order");
+
+		}
+		List<OrderedItemsDto> itemsDtoList = orderUpdateRequest.getItems();
+		Map<Long, Integer> quantities = new LinkedHashMap<>();
+		for(OrderedItemsDto itemDto: itemsDtoList) {
+			if(itemDto.getQuantity()<=0 ) {
+				throw new OrderException("Update Failed, quantity cannot be zero");
 			}
-			Order savedOrder = orderRepository.save(order);
-			kafkaProducer.publishOrder(savedOrder);
-			return new OrderUpdateResponseDto(savedOrder.getId(), savedOrder.getCustomerId(), savedOrder.getStatus(), savedOrder.getRestaurantId(),updateItemsListToReturn );
-		
-		} catch(Exception exception) {
-			throw new OrderException(exception.getMessage());
+			quantities.merge(itemDto.getItemId(), itemDto.getQuantity(), Integer::sum);
+		}
+
+		int hour = menuAvailabilityCache.currentHour();
+		Map<Long, ItemFetchDto> items = catalogService.getItemsByIds(itemIdsOf(itemsDtoList), (itemId, item) -> 
+			validateItem(item, order.getRestaurantId(), hour, "Update Failed, item not found in menu", 
+					"Update Failed, item does not belong to respective restaurant"));
+
+		return applyLines(order, persistedLines -> quantities, items);
+	}
+
+	/**
+	 * Writes the order's lines as the {@code quantitiesOf} its currently persisted lines,
+	 * marks it UPDATED with the new total, and announces the change once committed. Only
+	 * lines that are added, changed or removed are written; {@code items} needs to hold
+	 * only the catalog entries of lines whose item is added or changed.
+	 */
+	private OrderUpdateResponseDto applyLines(Order order, Function<List<OrderedItem>, Map<Long, Integer>> quantitiesOf,
+			Map<Long, ItemFetchDto> items) {
+		List<OrderedItem> lines = new ArrayList<>();
+		Order savedOrder = transactionTemplate.execute(status -> {
+			// read inside the transaction so changed lines are flushed as plain updates
+			List<OrderedItem> persistedLines = itemService.findbyOrderId(order.getId());
+			OrderItemsDiff diff = OrderItemsDiff.between(persistedLines, quantitiesOf.apply(persistedLines), items, order);
+			log.debug("Updating order {}: {} lines added, {} changed, {} removed", order.getId(),
+					diff.getAdded().size(), diff.getChanged().size(), diff.getRemovedIds().size());
+			if(!diff.getRemovedIds().isEmpty())
+				itemService.deleteItems(diff.getRemovedIds());
+			if(!diff.toSave().isEmpty())
+				itemService.saveItems(diff.toSave());
+			lines.addAll(diff.getLines());
+			order.setStatus(OrderStatus.UPDATED.name());
+			order.setTotalAmountMinor(totalAmountMinorOf(diff.getLines()));
+			return orderRepository.save(order);
+		});
+		orderCache.evict(savedOrder.getId());
+		kafkaProducer.publishOrder(savedOrder);
+		return new OrderUpdateResponseDto(savedOrder.getId(), savedOrder.getCustomerId(), savedOrder.getStatus(), savedOrder.getRestaurantId(), lines);
+	}
+
+	private void validateItem(ItemFetchDto item, Long restaurantId, int hour, String notFoundMessage, 
+			String otherRestaurantMessage) throws OrderException {
+		if(item == null) {
+			throw new OrderException(notFoundMessage);
+		}
+		if(!item.getMenu().getRestaurant().getId().equals(restaurantId)) {
+			throw new OrderException(otherRestaurantMessage);
+		}
+		if(!menuAvailabilityCache.isAvailable(item.getMenu(), hour)) {
+			throw new OrderException("Item currently unavailable in given restaurant");
 		}
+	}
 
+	private long totalAmountMinorOf(List<OrderedItem> orderedItems) {
+		long total = 0;
+		for(OrderedItem orderedItem: orderedItems) {
+			long unitPriceMinor = BigDecimal.valueOf(orderedItem.getPrice()).movePointRight(2)
+					.setScale(0, RoundingMode.HALF_UP).longValueExact();
+			total = Math.addExact(total, Math.multiplyExact(unitPriceMinor, orderedItem.getQuantity()));
+		}
+		return total;
+	}
+
+	private List<Long> itemIdsOf(List<OrderedItemsDto> itemsDtoList) {
+		List<Long> itemIds = new ArrayList<>();
+		for(OrderedItemsDto itemDto: itemsDtoList) {
+			itemIds.add(itemDto.getItemId());
+		}
+		return itemIds;
 	}
 
 }
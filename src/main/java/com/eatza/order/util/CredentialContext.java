@@ -0,0 +1,63 @@
+package com.eatza.order.util;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Bearer token of the request being served, bound to the serving thread by
+ * {@code JwtFilter}. Executors that run work on behalf of a request carry it over with
+ * {@link #TASK_DECORATOR}; code building downstream calls reads it through
+ * {@link #currentToken()}.
+ */
+public final class CredentialContext {
+
+	private static final ThreadLocal<String> TOKEN = new ThreadLocal<>();
+
+	public static final TaskDecorator TASK_DECORATOR = CredentialContext::wrap;
+
+	private CredentialContext() {
+	}
+
+	/**
+	 * Returns null outside of an authenticated request.
+	 */
+	public static String currentToken() {
+		return TOKEN.get();
+	}
+
+	/**
+	 * Binds {@code token} to the current thread until the returned scope is closed, which
+	 * restores whatever was bound before.
+	 */
+	public static Scope open(String token) {
+		String previous = TOKEN.get();
+		TOKEN.set(token);
+		return () -> {
+			if(previous == null)
+				TOKEN.remove();
+			else
+				TOKEN.set(previous);
+		};
+	}
+
+	/**
+	 * Captures the caller's token so {@code task} sees it on whichever thread runs it.
+	 */
+	public static Runnable wrap(Runnable task) {
+		String token = TOKEN.get();
+		if(token == null)
+			return task;
+		return () -> {
+			try(Scope scope = open(token)) {
+				task.run();
+			}
+		};
+	}
+
+	@FunctionalInterface
+	public interface Scope extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+
+}
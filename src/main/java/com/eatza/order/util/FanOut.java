@@ -0,0 +1,81 @@
+package com.eatza.order.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs one task per key on a shared executor with at most {@code parallelism} tasks
+ * of the same call in flight. The first failing task fails the whole call straight
+ * away and interrupts its still running siblings, so callers wait for the slowest
+ * successful key or the first failure, whichever comes first.
+ */
+public final class FanOut {
+
+	private FanOut() {
+	}
+
+	public static <K, V> Map<K, V> run(Collection<K> keys, int parallelism, Executor executor, Function<K, V> task) {
+		Map<K, V> results = new ConcurrentHashMap<>();
+		if(keys.isEmpty())
+			return results;
+
+		Queue<K> pending = new ConcurrentLinkedQueue<>(keys);
+		CompletableFuture<Void> outcome = new CompletableFuture<>();
+		int workerCount = Math.max(1, Math.min(parallelism, keys.size()));
+		AtomicInteger running = new AtomicInteger(workerCount);
+
+		List<FutureTask<Void>> workers = new ArrayList<>(workerCount);
+		for(int i = 0; i < workerCount; i++) {
+			workers.add(new FutureTask<>(() -> {
+				try {
+					K key;
+					while(!outcome.isDone() && (key = pending.poll()) != null) {
+						V value = task.apply(key);
+						if(value != null)
+							results.put(key, value);
+					}
+				} catch(Throwable t) {
+					outcome.completeExceptionally(t);
+				} finally {
+					if(running.decrementAndGet() == 0)
+						outcome.complete(null);
+				}
+				return null;
+			}));
+		}
+
+		try {
+			for(FutureTask<Void> worker: workers) {
+				executor.execute(worker);
+			}
+			outcome.join();
+		} catch(CompletionException ce) {
+			for(FutureTask<Void> worker: workers) {
+				worker.cancel(true);
+			}
+			if(ce.getCause() instanceof RuntimeException)
+				throw (RuntimeException) ce.getCause();
+			throw ce;
+		} catch(RuntimeException re) {
+			// executor rejected a worker, do not leave the accepted ones running
+			outcome.completeExceptionally(re);
+			for(FutureTask<Void> worker: workers) {
+				worker.cancel(true);
+			}
+			throw re;
+		}
+		return results;
+	}
+
+}
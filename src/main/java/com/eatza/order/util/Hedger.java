@@ -0,0 +1,203 @@
+package com.eatza.order.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Hedges an idempotent call: when it has not answered within the configured percentile
+ * of recently observed latencies, an identical second call is started and whichever
+ * succeeds first wins. Hedges are paid for out of a token budget that earns
+ * {@code budgetRatio} tokens per call, so they never add more than that share of load.
+ * Nothing on the call path takes a lock: latencies go into a lock-free ring and the
+ * percentile is recomputed from it every {@value #RECOMPUTE_EVERY} samples.
+ */
+public class Hedger {
+
+	private static final int WINDOW = 256;
+
+	private static final int MIN_SAMPLES = 32;
+
+	private static final int RECOMPUTE_EVERY = 32;
+
+	private static final double TOKEN_SCALE = 1_000_000d;
+
+	private final Executor executor;
+
+	private final double percentile;
+
+	private final long initialDelayNanos;
+
+	private final long minDelayNanos;
+
+	private final long budgetRatioMicros;
+
+	private final long budgetBurstMicros;
+
+	private final AtomicLongArray latencies = new AtomicLongArray(WINDOW);
+
+	private final AtomicLong recorded = new AtomicLong();
+
+	private volatile long hedgeDelayNanos;
+
+	private final AtomicLong tokenMicros;
+
+	private final LongAdder sent = new LongAdder();
+
+	private final LongAdder won = new LongAdder();
+
+	public Hedger(Executor executor, double percentile, Duration initialDelay, Duration minDelay,
+			double budgetRatio, int budgetBurst) {
+		this.executor = executor;
+		this.percentile = percentile;
+		this.initialDelayNanos = initialDelay.toNanos();
+		this.minDelayNanos = minDelay.toNanos();
+		this.budgetRatioMicros = Math.round(budgetRatio * TOKEN_SCALE);
+		this.budgetBurstMicros = Math.round(budgetBurst * TOKEN_SCALE);
+		this.tokenMicros = new AtomicLong(budgetBurstMicros);
+		this.hedgeDelayNanos = initialDelayNanos;
+	}
+
+	public <V> V call(Supplier<V> call) {
+		return call(call, call, () -> true);
+	}
+
+	/**
+	 * Hedges {@code call} with {@code hedge}, but only if {@code worthHedging} still holds
+	 * once the hedge delay has passed, e.g. there is another instance to send it to.
+	 */
+	public <V> V call(Supplier<V> call, Supplier<V> hedge, BooleanSupplier worthHedging) {
+		long start = System.nanoTime();
+		CompletableFuture<V> primary = CompletableFuture.supplyAsync(call, executor);
+		primary.thenRun(() -> record(System.nanoTime() - start));
+		earnToken();
+		try {
+			return primary.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+		} catch(TimeoutException te) {
+			if(!worthHedging.getAsBoolean() || !spendToken())
+				return await(primary);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a hedged call", ie);
+		} catch(ExecutionException ee) {
+			throw unwrap(ee.getCause());
+		}
+
+		CompletableFuture<V> hedged;
+		try {
+			hedged = CompletableFuture.supplyAsync(hedge, executor);
+		} catch(RejectedExecutionException re) {
+			return await(primary);
+		}
+		sent.increment();
+		CompletableFuture<V> first = new CompletableFuture<>();
+		AtomicBoolean succeeded = new AtomicBoolean();
+		AtomicInteger failures = new AtomicInteger();
+		primary.whenComplete((value, ex) -> settle(first, succeeded, failures, value, ex, false));
+		hedged.whenComplete((value, ex) -> settle(first, succeeded, failures, value, ex, true));
+		try {
+			return await(first);
+		} finally {
+			primary.cancel(false);
+			hedged.cancel(false);
+		}
+	}
+
+	public long hedgesSent() {
+		return sent.sum();
+	}
+
+	public long hedgesWon() {
+		return won.sum();
+	}
+
+	/**
+	 * The configured percentile of the latency window as of its last recomputation, or
+	 * the initial delay until the window has seen enough calls to be meaningful.
+	 */
+	long hedgeDelayNanos() {
+		return hedgeDelayNanos;
+	}
+
+	private void record(long latencyNanos) {
+		long count = recorded.incrementAndGet();
+		latencies.set((int) ((count - 1) % WINDOW), latencyNanos);
+		if(count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0)
+			recomputeDelay((int) Math.min(count, WINDOW));
+	}
+
+	/**
+	 * Runs on the one thread that recorded the triggering sample; slots overwritten
+	 * while it copies only shift the estimate by a sample.
+	 */
+	private void recomputeDelay(int samples) {
+		long[] sorted = new long[samples];
+		for(int i = 0; i < samples; i++) {
+			sorted[i] = latencies.get(i);
+		}
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percentile * samples) - 1;
+		hedgeDelayNanos = Math.max(minDelayNanos, sorted[Math.max(0, Math.min(rank, samples - 1))]);
+	}
+
+	private void earnToken() {
+		tokenMicros.accumulateAndGet(budgetRatioMicros, (tokens, ratio) -> Math.min(budgetBurstMicros, tokens + ratio));
+	}
+
+	private boolean spendToken() {
+		long one = (long) TOKEN_SCALE;
+		while(true) {
+			long tokens = tokenMicros.get();
+			if(tokens < one)
+				return false;
+			if(tokenMicros.compareAndSet(tokens, tokens - one))
+				return true;
+		}
+	}
+
+	private <V> void settle(CompletableFuture<V> first, AtomicBoolean succeeded, AtomicInteger failures,
+			V value, Throwable ex, boolean hedged) {
+		if(ex == null) {
+			if(succeeded.compareAndSet(false, true)) {
+				if(hedged)
+					won.increment();
+				first.complete(value);
+			}
+		} else if(failures.incrementAndGet() == 2) {
+			first.completeExceptionally(ex);
+		}
+	}
+
+	private <V> V await(CompletableFuture<V> future) {
+		try {
+			return future.get();
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a hedged call", ie);
+		} catch(ExecutionException ee) {
+			throw unwrap(ee.getCause());
+		}
+	}
+
+	private RuntimeException unwrap(Throwable cause) {
+		while(cause instanceof CompletionException && cause.getCause() != null)
+			cause = cause.getCause();
+		if(cause instanceof RuntimeException)
+			return (RuntimeException) cause;
+		return new IllegalStateException(cause);
+	}
+
+}
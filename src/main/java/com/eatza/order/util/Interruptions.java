@@ -0,0 +1,26 @@
+package com.eatza.order.util;
+
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+
+/**
+ * Tells failures caused by the calling thread being interrupted, e.g. a fan-out worker
+ * cancelled because a sibling failed, apart from failures of the call itself.
+ */
+public final class Interruptions {
+
+	private Interruptions() {
+	}
+
+	public static boolean isInterruption(Throwable throwable) {
+		for(Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+			if(cause instanceof InterruptedException || cause instanceof InterruptedIOException
+					|| cause instanceof ClosedByInterruptException)
+				return true;
+			if(cause.getCause() == cause)
+				break;
+		}
+		return false;
+	}
+
+}
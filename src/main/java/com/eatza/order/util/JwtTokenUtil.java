@@ -1,6 +1,8 @@
 package com.eatza.order.util;
 
 import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,13 +17,23 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import com.eatza.order.dto.ErrorResponseDto;
 import com.eatza.order.exception.InvalidTokenException;
+import com.eatza.order.util.TokenValidationCache.CachedValidation;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.JwtParserBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
 import lombok.Setter;
 
 @Component
@@ -36,17 +48,89 @@ public class JwtTokenUtil implements Serializable{
 	@Autowired
 	RestTemplate restTemplate;
 	
+	@Autowired
+	transient TokenValidationCache tokenValidationCache;
+	
 	@Value("${jwt.token-url.validate}")
 	private String customerServiceTokenUrl;
 	
 	@Value("${jwt.secret}")
 	private String secret;
 	
-	private static final Logger logger = LoggerFactory.getLogger(JwtTokenUtil.class);
+	// remote: ask customer-service about every token, local: verify signature and claims in process
+	@Value("${jwt.verification-mode:remote}")
+	private String verificationMode;
+	
+	// in local mode, still ask customer-service afterwards so revoked customers are refused
+	@Value("${jwt.remote-revocation-check:false}")
+	private boolean remoteRevocationCheck;
+	
+	@Value("${jwt.issuer:}")
+	private String issuer;
 	
-	public static String globalScopeToken;
+	@Value("${jwt.clock-skew:30s}")
+	private Duration clockSkew;
+	
+	private transient volatile JwtParser jwtParser;
+	
+	private static final Logger logger = LoggerFactory.getLogger(JwtTokenUtil.class);
 	
 	public Boolean validateToken(String token) throws InvalidTokenException {
+		if("local".equalsIgnoreCase(verificationMode)) {
+			verifyLocally(token);
+			if(!remoteRevocationCheck)
+				return true;
+		}
+		CachedValidation cached = tokenValidationCache.get(token);
+		if(cached != null) {
+			logger.debug("Token validation served from cache");
+			if(cached.isValid())
+				return true;
+			if(cached.getReason() != null)
+				throw new InvalidTokenException(cached.getReason());
+			return false;
+		}
+		return validateRemotely(token);
+	}
+	
+	/**
+	 * Checks signature, expiry and subject against the shared secret without leaving the
+	 * process. The parser, and with it the derived signing key, is built once.
+	 */
+	public Claims verifyLocally(String token) throws InvalidTokenException {
+		logger.debug("In verifyLocally method");
+		try {
+			Claims claims = parser().parseClaimsJws(token).getBody();
+			if(!StringUtils.hasText(claims.getSubject()))
+				throw new InvalidTokenException("Token has no subject", ErrorCodesEnum.TOKEN_ERROR);
+			return claims;
+		} catch(ExpiredJwtException eje) {
+			throw new InvalidTokenException("JWT expired", ErrorCodesEnum.TOKEN_ERROR);
+		} catch(JwtException | IllegalArgumentException ex) {
+			throw new InvalidTokenException(ex.getMessage(), ErrorCodesEnum.TOKEN_ERROR);
+		}
+	}
+	
+	private JwtParser parser() {
+		JwtParser parser = jwtParser;
+		if(parser == null) {
+			synchronized(this) {
+				parser = jwtParser;
+				if(parser == null) {
+					JwtParserBuilder builder = Jwts.parserBuilder()
+							.setSigningKey(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)))
+							.setAllowedClockSkewSeconds(clockSkew.getSeconds());
+					if(StringUtils.hasText(issuer))
+						builder.requireIssuer(issuer);
+					parser = builder.build();
+					jwtParser = parser;
+				}
+			}
+		}
+		return parser;
+	}
+	
+	private Boolean validateRemotely(String token) throws InvalidTokenException {
 		try {
 			logger.debug("In validateToken method");
 			HttpHeaders headers = new HttpHeaders();
@@ -57,7 +141,10 @@ public class JwtTokenUtil implements Serializable{
 			HttpEntity<String> entity = new HttpEntity<>(headers);
 			
 			ResponseEntity<Boolean> response = restTemplate.exchange(builder.toUriString(), HttpMethod.GET, entity, Boolean.class);
-			globalScopeToken = token;
+			if(Boolean.TRUE.equals(response.getBody()))
+				tokenValidationCache.putAccepted(token);
+			else
+				tokenValidationCache.putRejected(token, null);
 			return response.getBody();
 			
 		} catch(RestClientResponseException re) {
@@ -66,6 +153,7 @@ public class JwtTokenUtil implements Serializable{
 				try {
 					ErrorResponseDto errorResponseDto = 
 							mapper.readValue(re.getResponseBodyAsString(), ErrorResponseDto.class);
+					tokenValidationCache.putRejected(token, errorResponseDto.getDescription());
 					throw new InvalidTokenException(errorResponseDto.getDescription());
 				} catch (JsonProcessingException e) {
 					throw new InvalidTokenException(e.getMessage());
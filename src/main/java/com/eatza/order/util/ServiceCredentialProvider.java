@@ -0,0 +1,157 @@
+package com.eatza.order.util;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestTemplate;
+
+import com.eatza.order.dto.ServiceTokenDto;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The order service's own credential for calling other services. It is fetched with the
+ * client credentials grant and refreshed in the background {@code refreshAhead} before
+ * it expires, so callers only ever read the cached token. Returns null while disabled or
+ * when no unexpired token is held, in which case callers fall back to the user's token.
+ */
+@Component
+@Setter
+@Slf4j
+public class ServiceCredentialProvider {
+
+	@Autowired
+	RestTemplate restTemplate;
+
+	@Autowired
+	Clock clock;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Value("${service-auth.enabled:false}")
+	private boolean enabled;
+
+	@Value("${service-auth.token-url:}")
+	private String tokenUrl;
+
+	@Value("${service-auth.client-id:order-service}")
+	private String clientId;
+
+	@Value("${service-auth.client-secret:}")
+	private String clientSecret;
+
+	@Value("${service-auth.refresh-ahead:60s}")
+	private Duration refreshAhead;
+
+	@Value("${service-auth.retry-interval:10s}")
+	private Duration retryInterval;
+
+	private volatile ServiceCredential credential;
+
+	private volatile Instant nextAttempt = Instant.MIN;
+
+	private Timer refreshSuccess;
+
+	private Timer refreshFailure;
+
+	@PostConstruct
+	public void bindMetrics() {
+		refreshSuccess = Timer.builder("service.credential.refresh")
+				.description("Time taken to fetch the service credential")
+				.tag("result", "success")
+				.register(meterRegistry);
+		refreshFailure = Timer.builder("service.credential.refresh")
+				.description("Time taken to fetch the service credential")
+				.tag("result", "failure")
+				.register(meterRegistry);
+		Gauge.builder("service.credential.expires.in", this, ServiceCredentialProvider::secondsToExpiry)
+				.description("Seconds until the cached service credential expires")
+				.baseUnit("seconds")
+				.register(meterRegistry);
+	}
+
+	public String currentToken() {
+		ServiceCredential current = credential;
+		if(!enabled || current == null || !clock.instant().isBefore(current.expiresAt))
+			return null;
+		return current.token;
+	}
+
+	@Scheduled(fixedDelayString = "${service-auth.check-interval:5s}", initialDelay = 0)
+	public void refreshIfDue() {
+		if(!enabled)
+			return;
+		Instant now = clock.instant();
+		ServiceCredential current = credential;
+		if(current != null && now.isBefore(current.expiresAt.minus(refreshAhead)))
+			return;
+		if(now.isBefore(nextAttempt))
+			return;
+		refresh();
+	}
+
+	void refresh() {
+		long start = System.nanoTime();
+		try {
+			HttpHeaders headers = new HttpHeaders();
+			headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+			headers.setBasicAuth(clientId, clientSecret);
+			MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+			form.add("grant_type", "client_credentials");
+
+			log.debug("Fetching service credential");
+			ServiceTokenDto response = restTemplate.postForObject(tokenUrl, new HttpEntity<>(form, headers), ServiceTokenDto.class);
+			if(response == null || response.getAccessToken() == null || response.getExpiresIn() <= 0)
+				throw new IllegalStateException("Token endpoint returned no usable credential");
+
+			credential = new ServiceCredential(response.getAccessToken(),
+					clock.instant().plusSeconds(response.getExpiresIn()));
+			nextAttempt = Instant.MIN;
+			refreshSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		} catch(Exception ex) {
+			// keep serving the current credential until it expires, then callers fall back
+			nextAttempt = clock.instant().plus(retryInterval);
+			refreshFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+			log.warn("Unable to refresh service credential: {}", ex.getMessage());
+		}
+	}
+
+	private double secondsToExpiry() {
+		ServiceCredential current = credential;
+		if(current == null)
+			return 0;
+		return Math.max(0, Duration.between(clock.instant(), current.expiresAt).getSeconds());
+	}
+
+	private static final class ServiceCredential {
+
+		private final String token;
+
+		private final Instant expiresAt;
+
+		ServiceCredential(String token, Instant expiresAt) {
+			this.token = token;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.eatza.order.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller performs the load,
+ * callers arriving while it is in flight wait for and share its result or failure.
+ * A load that fails because its owner was interrupted is not shared; the waiters
+ * start the load again instead, so cancelling one caller never fails the others.
+ */
+public class SingleFlight<K, V> {
+
+	private static final RuntimeException ABANDONED = new AbandonedLoadException();
+
+	private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	private final LongAdder coalesced = new LongAdder();
+
+	public V execute(K key, Supplier<V> loader) {
+		while(true) {
+			CompletableFuture<V> owned = new CompletableFuture<>();
+			CompletableFuture<V> existing = inFlight.putIfAbsent(key, owned);
+			if(existing != null) {
+				coalesced.increment();
+				try {
+					return await(existing);
+				} catch(AbandonedLoadException ale) {
+					continue;
+				}
+			}
+			try {
+				V value = loader.get();
+				inFlight.remove(key, owned);
+				owned.complete(value);
+				return value;
+			} catch(RuntimeException ex) {
+				inFlight.remove(key, owned);
+				owned.completeExceptionally(shareable(ex));
+				throw ex;
+			}
+		}
+	}
+
+	/**
+	 * Loads every key that is not already in flight with one call to {@code loader}
+	 * and joins the loads other callers own for the rest. Keys that load to null are
+	 * left out of the returned map.
+	 */
+	public Map<K, V> executeAll(Collection<K> keys, Function<Set<K>, Map<K, V>> loader) {
+		Map<K, CompletableFuture<V>> owned = new LinkedHashMap<>();
+		Map<K, CompletableFuture<V>> joined = new HashMap<>();
+		for(K key: keys) {
+			CompletableFuture<V> future = new CompletableFuture<>();
+			CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+			if(existing == null) {
+				owned.put(key, future);
+			} else {
+				coalesced.increment();
+				joined.put(key, existing);
+			}
+		}
+
+		Map<K, V> results = new HashMap<>();
+		try {
+			if(!owned.isEmpty()) {
+				Map<K, V> loaded = loader.apply(owned.keySet());
+				for(Map.Entry<K, CompletableFuture<V>> entry: owned.entrySet()) {
+					V value = loaded.get(entry.getKey());
+					inFlight.remove(entry.getKey(), entry.getValue());
+					entry.getValue().complete(value);
+					if(value != null)
+						results.put(entry.getKey(), value);
+				}
+			}
+		} catch(RuntimeException ex) {
+			RuntimeException shared = shareable(ex);
+			for(Map.Entry<K, CompletableFuture<V>> entry: owned.entrySet()) {
+				inFlight.remove(entry.getKey(), entry.getValue());
+				entry.getValue().completeExceptionally(shared);
+			}
+			throw ex;
+		}
+
+		Set<K> abandoned = new LinkedHashSet<>();
+		for(Map.Entry<K, CompletableFuture<V>> entry: joined.entrySet()) {
+			try {
+				V value = await(entry.getValue());
+				if(value != null)
+					results.put(entry.getKey(), value);
+			} catch(AbandonedLoadException ale) {
+				abandoned.add(entry.getKey());
+			}
+		}
+		if(!abandoned.isEmpty())
+			results.putAll(executeAll(abandoned, loader));
+		return results;
+	}
+
+	public long coalescedCount() {
+		return coalesced.sum();
+	}
+
+	private static RuntimeException shareable(RuntimeException ex) {
+		if(Thread.currentThread().isInterrupted() || Interruptions.isInterruption(ex))
+			return ABANDONED;
+		return ex;
+	}
+
+	private V await(CompletableFuture<V> future) {
+		try {
+			return future.get();
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for an in-flight load", ie);
+		} catch(ExecutionException ee) {
+			if(ee.getCause() instanceof RuntimeException)
+				throw (RuntimeException) ee.getCause();
+			throw new IllegalStateException(ee.getCause());
+		}
+	}
+
+	/**
+	 * Handed to waiters in place of a failure caused by the owner being interrupted.
+	 */
+	private static final class AbandonedLoadException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		AbandonedLoadException() {
+			super("In-flight load abandoned by its owner", null, false, false);
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.eatza.order.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Remembers recent bearer token validation results, keyed by the SHA-256 digest of the
+ * token so raw tokens are never held. Accepted tokens are kept no longer than the
+ * configured ttl and never past their own {@code exp} claim; rejected tokens are kept
+ * for a short negative ttl.
+ */
+@Component
+public class TokenValidationCache {
+
+	public static final String CACHE_NAME = "tokenValidations";
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final Cache<String, CachedValidation> cache;
+
+	private final long ttlNanos;
+
+	private final long negativeTtlNanos;
+
+	public TokenValidationCache(MeterRegistry meterRegistry,
+			@Value("${jwt.validation-cache.ttl:5m}") Duration ttl,
+			@Value("${jwt.validation-cache.negative-ttl:10s}") Duration negativeTtl,
+			@Value("${jwt.validation-cache.max-size:10000}") long maxSize) {
+		this.ttlNanos = ttl.toNanos();
+		this.negativeTtlNanos = negativeTtl.toNanos();
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new LifetimeExpiry())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * Returns null when the token has not been validated recently.
+	 */
+	public CachedValidation get(String token) {
+		return cache.getIfPresent(digest(token));
+	}
+
+	public void putAccepted(String token) {
+		long lifetime = Math.min(ttlNanos, nanosUntilExpiry(token));
+		if(lifetime > 0)
+			cache.put(digest(token), new CachedValidation(true, null, lifetime));
+	}
+
+	/**
+	 * @param reason message to fail repeated requests with, or null when the token was
+	 * merely reported as not valid
+	 */
+	public void putRejected(String token, String reason) {
+		cache.put(digest(token), new CachedValidation(false, reason, negativeTtlNanos));
+	}
+
+	public void invalidate(String token) {
+		cache.invalidate(digest(token));
+	}
+
+	/**
+	 * Reads the unverified {@code exp} claim. It can only shorten an entry's lifetime,
+	 * and the entry belongs to exactly this token, so trusting it unverified is safe.
+	 */
+	private long nanosUntilExpiry(String token) {
+		try {
+			String[] parts = token.split("\\.");
+			if(parts.length < 2)
+				return Long.MAX_VALUE;
+			JsonNode exp = objectMapper.readTree(Base64.getUrlDecoder().decode(parts[1])).get("exp");
+			if(exp == null || !exp.canConvertToLong())
+				return Long.MAX_VALUE;
+			return Duration.ofSeconds(exp.asLong()).minusMillis(System.currentTimeMillis()).toNanos();
+		} catch(Exception ex) {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	private static String digest(String token) {
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch(NoSuchAlgorithmException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	public static final class CachedValidation {
+
+		private final boolean valid;
+
+		private final String reason;
+
+		private final long lifetimeNanos;
+
+		CachedValidation(boolean valid, String reason, long lifetimeNanos) {
+			this.valid = valid;
+			this.reason = reason;
+			this.lifetimeNanos = lifetimeNanos;
+		}
+
+		public boolean isValid() {
+			return valid;
+		}
+
+		public String getReason() {
+			return reason;
+		}
+	}
+
+	private static final class LifetimeExpiry implements Expiry<String, CachedValidation> {
+
+		@Override
+		public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+			return value.lifetimeNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+			return value.lifetimeNanos;
+		}
+
+		@Override
+		public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+
+}
@@ -0,0 +1,42 @@
+-- Schema as previously generated by Hibernate from the Order and OrderedItem entities.
+-- Databases created by Hibernate before Flyway took over are baselined at version 0, so
+-- this script also runs against them and must leave their tables and rows intact.
+
+CREATE SCHEMA IF NOT EXISTS eatza;
+
+CREATE TABLE IF NOT EXISTS eatza.orders (
+    id                 BIGINT       NOT NULL,
+    customer_id        BIGINT,
+    status             VARCHAR(255),
+    restaurant_id      BIGINT,
+    total_amount_minor BIGINT,
+    create_date_time   TIMESTAMP(6),
+    update_date_time   TIMESTAMP(6),
+    CONSTRAINT orders_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS eatza.ordered_items (
+    id       BIGINT           NOT NULL,
+    name     VARCHAR(255),
+    quantity INTEGER          NOT NULL,
+    price    DOUBLE PRECISION NOT NULL,
+    item_id  BIGINT,
+    order_id BIGINT           NOT NULL,
+    CONSTRAINT ordered_items_pkey PRIMARY KEY (id),
+    CONSTRAINT ordered_items_order_fk FOREIGN KEY (order_id) REFERENCES eatza.orders (id) ON DELETE CASCADE
+);
+
+-- Hibernate-built tables: ids were identity columns and the total did not exist yet.
+-- Orders kept from then have no stored total and are summed from their lines instead.
+ALTER TABLE eatza.orders ADD COLUMN IF NOT EXISTS total_amount_minor BIGINT;
+ALTER TABLE eatza.orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE eatza.ordered_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- increments match the entities' allocationSize so the pooled optimizer hands out disjoint blocks
+CREATE SEQUENCE IF NOT EXISTS eatza.orders_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS eatza.ordered_items_seq START WITH 1 INCREMENT BY 50;
+
+-- the pooled optimizer hands out the 50 ids up to the value it fetches, so existing rows
+-- push the next value a full block past the highest id; empty tables keep START WITH 1
+SELECT setval('eatza.orders_seq', max(id) + 50, false) FROM eatza.orders HAVING max(id) IS NOT NULL;
+SELECT setval('eatza.ordered_items_seq', max(id) + 50, false) FROM eatza.ordered_items HAVING max(id) IS NOT NULL;
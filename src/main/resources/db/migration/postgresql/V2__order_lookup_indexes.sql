@@ -0,0 +1,11 @@
+-- Items are always read by their order: the amount query, findByOrderId and
+-- deleteByOrder_id. Carrying price and quantity lets the amount be summed from the
+-- index alone.
+CREATE INDEX IF NOT EXISTS ordered_items_order_id_idx
+    ON eatza.ordered_items (order_id) INCLUDE (price, quantity);
+
+-- Only orders still in flight are looked up by customer and restaurant; completed and
+-- cancelled orders, the bulk of the table, stay out of the index.
+CREATE INDEX IF NOT EXISTS orders_active_customer_restaurant_idx
+    ON eatza.orders (customer_id, restaurant_id)
+    WHERE status NOT IN ('CANCELLED', 'COMPLETED');
@@ -0,0 +1,2 @@
+-- Optimistic concurrency: every write to an order bumps its version.
+ALTER TABLE eatza.orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
@@ -2,9 +2,12 @@ package com.eatza.order.config;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +21,7 @@ import org.springframework.mock.web.MockHttpServletResponse;
 import com.eatza.order.dto.ErrorResponseDto;
 import com.eatza.order.exception.InvalidTokenException;
 import com.eatza.order.exception.UnauthorizedException;
+import com.eatza.order.util.CredentialContext;
 import com.eatza.order.util.ErrorCodesEnum;
 import com.eatza.order.util.JwtTokenUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -116,4 +120,15 @@ class JwtFilterTest {
 		assertDoesNotThrow(() -> {filter.doFilter(request, response, filterChain);});
 		
 	}
+	
+	@Test
+	void doFilter_BindsTokenForRequest() throws Exception {
+		request.addHeader("authorization", "Bearer token");
+		AtomicReference<String> seen = new AtomicReference<>();
+		
+		when(tokenUtil.validateToken(any())).thenReturn(true);
+		filter.doFilter(request, response, (req, res) -> seen.set(CredentialContext.currentToken()));
+		assertEquals("token", seen.get());
+		assertNull(CredentialContext.currentToken());
+	}
 }
@@ -2,8 +2,10 @@ package com.eatza.order.controller;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 
@@ -24,12 +26,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.eatza.order.dto.ErrorResponseDto;
+import com.eatza.order.dto.OrderItemOperationDto;
+import com.eatza.order.dto.OrderItemsPatchDto;
 import com.eatza.order.dto.OrderRequestDto;
 import com.eatza.order.dto.OrderUpdateDto;
 import com.eatza.order.dto.OrderUpdateResponseDto;
 import com.eatza.order.dto.OrderedItemsDto;
 import com.eatza.order.exception.CustomGlobalExceptionHandler;
 import com.eatza.order.exception.InvalidTokenException;
+import com.eatza.order.exception.OrderException;
 import com.eatza.order.exception.UnauthorizedException;
 import com.eatza.order.model.Order;
 import com.eatza.order.model.OrderedItem;
@@ -110,7 +115,7 @@ class OrderControllerTest {
 		Order order = new Order(1l, "CREATED", 1l);
 		order.setId(1l);
 		
-		when(orderService.placeOrder(any())).thenReturn(order);
+		when(orderService.placeOrder(any(), any())).thenReturn(order);
 		
 		MockHttpServletResponse response = mockMvc.perform(
 				post("/order").contentType(MediaType.APPLICATION_JSON)
@@ -124,13 +129,33 @@ class OrderControllerTest {
 	}
 	
 	
+	//Positive test case : placeOrder
+	@Test
+	void placeOrder_ForwardsIdempotencyKey() throws Exception {
+		Order order = new Order(1l, "CREATED", 1l);
+		order.setId(1l);
+		
+		when(orderService.placeOrder(any(), eq("retry-key"))).thenReturn(order);
+		
+		MockHttpServletResponse response = mockMvc.perform(
+				post("/order").contentType(MediaType.APPLICATION_JSON)
+				.content(jsonOrderRequestDto.write(orderRequestDto).getJson())
+				.header("authorization", "Bearer Token")
+				.header("Idempotency-Key", "retry-key"))
+				.andReturn().getResponse();
+		
+		Order returnedOrder = jsonOrder.parseObject(response.getContentAsString());
+		assertEquals(order.getId(), returnedOrder.getId());
+		
+	}
+	
 	//Negative test case : placeOrder
 	@Test
 	void placeOrder_Failed() throws Exception {
 		Order order = new Order(1l, "CREATED", 1l);
 		order.setId(1l);
 		
-		when(orderService.placeOrder(any())).thenThrow(new InvalidTokenException());
+		when(orderService.placeOrder(any(), any())).thenThrow(new InvalidTokenException());
 		
 		MockHttpServletResponse response = mockMvc.perform(
 				post("/order").contentType(MediaType.APPLICATION_JSON)
@@ -237,6 +262,44 @@ class OrderControllerTest {
 		
 	}
 	
+	//Positive test case : patchOrderItems
+	@Test
+	void patchOrderItems_Success() throws Exception {
+		
+		OrderUpdateResponseDto updateResponseDto = new OrderUpdateResponseDto(1l, 1l, "UPDATED", 1l, orderedItemList);
+		OrderItemsPatchDto patchDto = new OrderItemsPatchDto(1l, 
+				List.of(new OrderItemOperationDto(OrderItemOperationDto.Op.ADD, 3l, 1)));
+		
+		when(orderService.patchOrderItems(eq(1l), any())).thenReturn(updateResponseDto);
+		
+		MockHttpServletResponse response = mockMvc.perform(
+				patch("/order/1/items").contentType(MediaType.APPLICATION_JSON)
+				.content(new ObjectMapper().writeValueAsString(patchDto))
+				.header("authorization", "Bearer Token"))
+				.andReturn().getResponse();
+		
+		OrderUpdateResponseDto responseDto = jsonUpdateResponseDto.parseObject(response.getContentAsString());
+		assertEquals(1l, responseDto.getOrderId());
+		
+	}
+	
+	//Negative test case : patchOrderItems
+	@Test
+	void patchOrderItems_Failed() throws Exception {
+		
+		when(orderService.patchOrderItems(eq(1l), any())).thenThrow(new OrderException("Update Failed, item 3 is not in the order"));
+		
+		MockHttpServletResponse response = mockMvc.perform(
+				patch("/order/1/items").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"customerId\":1,\"operations\":[{\"op\":\"REMOVE\",\"itemId\":3}]}")
+				.header("authorization", "Bearer Token"))
+				.andReturn().getResponse();
+		
+		ErrorResponseDto errorResponseDto = jsonErrorResponseDto.parseObject(response.getContentAsString());
+		assertEquals("Update Failed, item 3 is not in the order", errorResponseDto.getDescription());
+		
+	}
+	
 	//Positive test case : getOrderById
 	@Test
 	void getOrderById_Success() throws Exception {
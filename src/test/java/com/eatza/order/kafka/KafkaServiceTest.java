@@ -0,0 +1,110 @@
+package com.eatza.order.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
+import com.eatza.order.repository.OrderRepository;
+import com.eatza.order.service.orderservice.OrderCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaServiceTest {
+
+	@Mock
+	OrderRepository orderRepository;
+
+	@Mock
+	KafkaProducer kafkaProducer;
+
+	@Mock
+	OrderCache orderCache;
+
+	@InjectMocks
+	KafkaService kafkaService;
+
+	private Order event;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		event = new Order(2l, "ACCEPTED", 3l);
+		event.setId(1l);
+		meterRegistry = new SimpleMeterRegistry();
+		kafkaService.setMeterRegistry(meterRegistry);
+		kafkaService.bindMetrics();
+	}
+
+	//Positive test case : updateOrderStatus
+	@Test
+	void updateOrderStatus_Success() {
+		Order saved = new Order(1l, "ACCEPTED", 1l);
+		saved.setId(1l);
+		when(orderRepository.transitionStatus(1l, OrderStatus.ACCEPTED)).thenReturn(Optional.of(saved));
+
+		kafkaService.updateOrderStatus(event);
+		verify(orderCache).evict(1l);
+		verify(kafkaProducer).publishOrder(saved);
+		verify(orderRepository, never()).save(any());
+	}
+
+	//Negative test case : updateOrderStatus
+	@Test
+	void updateOrderStatus_TransitionNotAllowed() {
+		when(orderRepository.transitionStatus(1l, OrderStatus.ACCEPTED)).thenReturn(Optional.empty());
+
+		kafkaService.updateOrderStatus(event);
+		verifyNoInteractions(orderCache, kafkaProducer);
+		assertEquals(1.0, meterRegistry.get("order.status.events.rejected").counter().count());
+	}
+
+	//Positive test case : updateOrderStatus
+	@Test
+	void updateOrderStatus_AtEventVersion() {
+		event.setVersion(3l);
+		Order saved = new Order(1l, "ACCEPTED", 1l);
+		saved.setId(1l);
+		when(orderRepository.transitionStatusAtVersion(1l, 3l, OrderStatus.ACCEPTED)).thenReturn(Optional.of(saved));
+
+		kafkaService.updateOrderStatus(event);
+		verify(kafkaProducer).publishOrder(saved);
+		verify(orderRepository, never()).transitionStatus(any(), any());
+	}
+
+	//Negative test case : updateOrderStatus
+	@Test
+	void updateOrderStatus_StaleVersion() {
+		event.setVersion(3l);
+		when(orderRepository.transitionStatusAtVersion(1l, 3l, OrderStatus.ACCEPTED)).thenReturn(Optional.empty());
+
+		kafkaService.updateOrderStatus(event);
+		verifyNoInteractions(orderCache, kafkaProducer);
+		assertEquals(1.0, meterRegistry.get("order.status.events.rejected").counter().count());
+	}
+
+	//Negative test case : updateOrderStatus
+	@Test
+	void updateOrderStatus_UnknownStatus() {
+		event.setStatus("LOST");
+
+		kafkaService.updateOrderStatus(event);
+		verifyNoInteractions(orderRepository, orderCache, kafkaProducer);
+	}
+
+}
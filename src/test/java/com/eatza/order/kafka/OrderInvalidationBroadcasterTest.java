@@ -0,0 +1,70 @@
+package com.eatza.order.kafka;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import com.eatza.order.config.KafkaConfig;
+
+@ExtendWith(MockitoExtension.class)
+class OrderInvalidationBroadcasterTest {
+
+	@Mock
+	KafkaTemplate<String, String> invalidationKafkaTemplate;
+
+	private OrderInvalidationBroadcaster orderInvalidationBroadcaster;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		orderInvalidationBroadcaster = new OrderInvalidationBroadcaster(invalidationKafkaTemplate, "node1");
+	}
+
+	//Positive test case : publish
+	@Test
+	void publish_KeyedByOrderId() {
+		when(invalidationKafkaTemplate.send(KafkaConfig.ORDER_INVALIDATION_TOPIC, "1", "node1"))
+			.thenReturn(new CompletableFuture<>());
+
+		orderInvalidationBroadcaster.publish(1l);
+		verify(invalidationKafkaTemplate).send(KafkaConfig.ORDER_INVALIDATION_TOPIC, "1", "node1");
+	}
+
+	//Negative test case : publish
+	@Test
+	void publish_Exception() {
+		when(invalidationKafkaTemplate.send(KafkaConfig.ORDER_INVALIDATION_TOPIC, "1", "node1"))
+			.thenThrow(new RuntimeException("Error occured"));
+
+		assertDoesNotThrow(() -> orderInvalidationBroadcaster.publish(1l));
+	}
+
+	//Positive test case : isOwn
+	@Test
+	void isOwn_Success() {
+		assertTrue(orderInvalidationBroadcaster.isOwn("node1"));
+		assertFalse(orderInvalidationBroadcaster.isOwn("node2"));
+		assertEquals(KafkaConfig.ORDER_INVALIDATION_GROUP_PREFIX + "node1", orderInvalidationBroadcaster.getGroupId());
+	}
+
+	//Positive test case : getNodeId
+	@Test
+	void getNodeId_GeneratedWhenUnset() {
+		OrderInvalidationBroadcaster first = new OrderInvalidationBroadcaster(invalidationKafkaTemplate, "");
+		OrderInvalidationBroadcaster second = new OrderInvalidationBroadcaster(invalidationKafkaTemplate, "");
+		assertNotEquals(first.getNodeId(), second.getNodeId());
+	}
+
+}
@@ -0,0 +1,127 @@
+package com.eatza.order.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class InstanceLatencyTrackerTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private InstanceLatencyTracker latencyTracker;
+
+	private ServiceInstance instance;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		latencyTracker = new InstanceLatencyTracker(meterRegistry, 0.5, Duration.ofSeconds(1), Duration.ofMillis(100));
+		instance = new DefaultServiceInstance("restaurant-1", "restaurant-service", "localhost", 8082, false);
+	}
+
+	//Positive test case : onComplete
+	@Test
+	void onComplete_Success() {
+		Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+		Response<ServiceInstance> response = new DefaultResponse(instance);
+
+		latencyTracker.onStartRequest(request, response);
+		assertEquals(1.0, outstanding());
+
+		latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+		assertEquals(0.0, outstanding());
+		assertTrue(latencyTracker.score(instance) > 0);
+		assertTrue(latencyTracker.score(instance) < Duration.ofSeconds(1).toNanos());
+	}
+
+	//Negative test case : onComplete
+	@Test
+	void onComplete_FailurePenalty() {
+		Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+		Response<ServiceInstance> response = new DefaultResponse(instance);
+
+		latencyTracker.onStartRequest(request, response);
+		latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.FAILED, request, response));
+		assertEquals(1000.0, meterRegistry.get("loadbalancer.instance.latency.ewma")
+				.tag("service", "restaurant-service").tag("instance", "localhost:8082").gauge().value());
+	}
+
+	//Positive test case : score
+	@Test
+	void score_WeightsOutstanding() {
+		latencyTracker.record(instance, 100);
+		latencyTracker.record(instance, 200);
+		assertEquals(150.0, latencyTracker.score(instance));
+
+		latencyTracker.onStartRequest(new DefaultRequest<>(new RequestDataContext()), new DefaultResponse(instance));
+		assertEquals(300.0, latencyTracker.score(instance));
+	}
+
+	//Positive test case : score
+	@Test
+	void score_UnsampledInstanceUsesPeerMedian() {
+		assertEquals(Duration.ofMillis(100).toNanos(), latencyTracker.score(instance));
+
+		latencyTracker.record(new DefaultServiceInstance("restaurant-2", "restaurant-service", "host2", 8082, false), 100);
+		latencyTracker.record(new DefaultServiceInstance("restaurant-3", "restaurant-service", "host3", 8082, false), 300);
+		latencyTracker.record(new DefaultServiceInstance("restaurant-4", "restaurant-service", "host4", 8082, false), 900);
+		latencyTracker.record(new DefaultServiceInstance("customer-1", "customer-service", "host5", 8081, false), 5);
+		assertEquals(300.0, latencyTracker.score(instance));
+
+		latencyTracker.onStartRequest(new DefaultRequest<>(new RequestDataContext()), new DefaultResponse(instance));
+		assertEquals(600.0, latencyTracker.score(instance));
+	}
+
+	//Positive test case : retainInstances
+	@Test
+	void retainInstances_ForgetsUnlistedInstances() {
+		ServiceInstance gone = new DefaultServiceInstance("restaurant-2", "restaurant-service", "host2", 8082, false);
+		ServiceInstance other = new DefaultServiceInstance("customer-1", "customer-service", "host5", 8081, false);
+		ServiceInstance fresh = new DefaultServiceInstance("restaurant-3", "restaurant-service", "host3", 8082, false);
+		latencyTracker.record(instance, 100);
+		latencyTracker.record(gone, 900);
+		latencyTracker.record(other, 5);
+
+		latencyTracker.retainInstances("RESTAURANT-SERVICE", Arrays.asList(instance, fresh));
+		assertNull(meterRegistry.find("loadbalancer.instance.latency.ewma").tag("instance", "host2:8082").gauge());
+		assertNull(meterRegistry.find("loadbalancer.instance.outstanding").tag("instance", "host2:8082").gauge());
+		assertNotNull(meterRegistry.find("loadbalancer.instance.latency.ewma").tag("instance", "host5:8081").gauge());
+		assertEquals(100.0, latencyTracker.score(fresh));
+	}
+
+	//Negative test case : onComplete
+	@Test
+	void onComplete_InstanceRetiredInFlight() {
+		Request<Object> request = new DefaultRequest<>(new RequestDataContext());
+		Response<ServiceInstance> response = new DefaultResponse(instance);
+
+		latencyTracker.onStartRequest(request, response);
+		latencyTracker.retainInstances("restaurant-service", Collections.emptyList());
+		latencyTracker.onComplete(new CompletionContext<>(CompletionContext.Status.SUCCESS, request, response));
+		assertNull(meterRegistry.find("loadbalancer.instance.outstanding").tag("instance", "localhost:8082").gauge());
+	}
+
+	private double outstanding() {
+		return meterRegistry.get("loadbalancer.instance.outstanding")
+				.tag("service", "restaurant-service").tag("instance", "localhost:8082").gauge().value();
+	}
+
+}
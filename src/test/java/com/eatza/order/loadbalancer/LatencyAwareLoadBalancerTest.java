@@ -0,0 +1,127 @@
+package com.eatza.order.loadbalancer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.SimpleObjectProvider;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import reactor.core.publisher.Flux;
+
+class LatencyAwareLoadBalancerTest {
+
+	private InstanceLatencyTracker latencyTracker;
+
+	private ServiceInstance slow;
+
+	private ServiceInstance fast;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		latencyTracker = new InstanceLatencyTracker(new SimpleMeterRegistry(), 0.3, Duration.ofSeconds(1), Duration.ofMillis(100));
+		slow = new DefaultServiceInstance("restaurant-1", "restaurant-service", "host1", 8082, false);
+		fast = new DefaultServiceInstance("restaurant-2", "restaurant-service", "host2", 8082, false);
+		latencyTracker.record(slow, Duration.ofMillis(500).toNanos());
+		latencyTracker.record(fast, Duration.ofMillis(5).toNanos());
+	}
+
+	//Positive test case : choose
+	@Test
+	void choose_PrefersFasterInstance() {
+		LatencyAwareLoadBalancer loadBalancer = loadBalancerOf(slow, fast);
+		for(int i = 0; i < 20; i++) {
+			assertEquals(fast, loadBalancer.choose(new DefaultRequest<>()).block().getServer());
+		}
+	}
+
+	//Positive test case : choose
+	@Test
+	void choose_NewInstanceDoesNotBeatFasterOne() {
+		ServiceInstance fresh = new DefaultServiceInstance("restaurant-3", "restaurant-service", "host3", 8082, false);
+		LatencyAwareLoadBalancer loadBalancer = loadBalancerOf(fresh, fast, slow);
+		// sampled between the two only, fresh is scored at the median of fast and slow
+		for(int i = 0; i < 20; i++) {
+			assertEquals(fast, loadBalancer.choose(Arrays.asList(fresh, fast)).getServer());
+		}
+	}
+
+	//Positive test case : choose
+	@Test
+	void choose_SingleInstance() {
+		assertEquals(slow, loadBalancerOf(slow).choose(new DefaultRequest<>()).block().getServer());
+	}
+
+	//Positive test case : choose
+	@Test
+	void choose_OtherAttemptAvoidsFirstInstance() {
+		LatencyAwareLoadBalancer loadBalancer = loadBalancerOf(slow, fast);
+		InstanceSelection selection = new InstanceSelection();
+
+		assertEquals(fast, selection.first(() -> loadBalancer.choose(new DefaultRequest<>()).block().getServer()));
+		assertTrue(selection.hasAlternative());
+		for(int i = 0; i < 20; i++) {
+			assertEquals(slow, selection.other(() -> loadBalancer.choose(new DefaultRequest<>()).block().getServer()));
+		}
+		assertEquals(fast, loadBalancer.choose(new DefaultRequest<>()).block().getServer());
+	}
+
+	//Negative test case : choose
+	@Test
+	void choose_NoAlternativeInstance() {
+		LatencyAwareLoadBalancer loadBalancer = loadBalancerOf(slow);
+		InstanceSelection selection = new InstanceSelection();
+
+		assertFalse(selection.hasAlternative());
+		assertEquals(slow, selection.first(() -> loadBalancer.choose(new DefaultRequest<>()).block().getServer()));
+		assertFalse(selection.hasAlternative());
+		assertEquals(slow, selection.other(() -> loadBalancer.choose(new DefaultRequest<>()).block().getServer()));
+	}
+
+	//Positive test case : choose
+	@Test
+	void choose_ForgetsUnlistedInstances() {
+		ServiceInstance fresh = new DefaultServiceInstance("restaurant-3", "restaurant-service", "host3", 8082, false);
+		loadBalancerOf(fresh, fast).choose(new DefaultRequest<>()).block();
+		assertEquals(latencyTracker.score(fast), latencyTracker.score(fresh));
+	}
+
+	//Negative test case : choose
+	@Test
+	void choose_NoInstances() {
+		Response<ServiceInstance> response = loadBalancerOf().choose(new DefaultRequest<>()).block();
+		assertFalse(response.hasServer());
+	}
+
+	private LatencyAwareLoadBalancer loadBalancerOf(ServiceInstance... instances) {
+		List<ServiceInstance> instanceList = instances.length == 0 ? Collections.emptyList() : Arrays.asList(instances);
+		ObjectProvider<ServiceInstanceListSupplier> provider = new SimpleObjectProvider<>(new ServiceInstanceListSupplier() {
+
+			@Override
+			public String getServiceId() {
+				return "restaurant-service";
+			}
+
+			@Override
+			public Flux<List<ServiceInstance>> get() {
+				return Flux.just(instanceList);
+			}
+		});
+		return new LatencyAwareLoadBalancer(provider, "restaurant-service", latencyTracker);
+	}
+
+}
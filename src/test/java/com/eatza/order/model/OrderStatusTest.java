@@ -0,0 +1,49 @@
+package com.eatza.order.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class OrderStatusTest {
+
+	//Positive test case : canTransitionTo
+	@Test
+	void canTransitionTo_ForwardOnly() {
+		assertTrue(OrderStatus.CREATED.canTransitionTo(OrderStatus.ACCEPTED));
+		assertTrue(OrderStatus.PREPARING.canTransitionTo(OrderStatus.CANCELLED));
+		assertFalse(OrderStatus.PREPARING.canTransitionTo(OrderStatus.ACCEPTED));
+		assertFalse(OrderStatus.DISPATCHED.canTransitionTo(OrderStatus.CANCELLED));
+		assertFalse(OrderStatus.CREATED.canTransitionTo(OrderStatus.CREATED));
+	}
+
+	//Positive test case : isTerminal
+	@Test
+	void isTerminal_Success() {
+		assertTrue(OrderStatus.COMPLETED.isTerminal());
+		assertTrue(OrderStatus.CANCELLED.isTerminal());
+		assertFalse(OrderStatus.DISPATCHED.isTerminal());
+	}
+
+	//Positive test case : sourcesOf
+	@Test
+	void sourcesOf_Success() {
+		assertEquals(Arrays.asList("CREATED", "UPDATED", "ACCEPTED", "PREPARING"), OrderStatus.sourcesOf(OrderStatus.CANCELLED));
+		assertEquals(Arrays.asList("CREATED", "UPDATED", "ACCEPTED", "PREPARING", "DISPATCHED"), OrderStatus.sourcesOf(OrderStatus.COMPLETED));
+		assertEquals(Arrays.asList("CREATED", "UPDATED"), OrderStatus.sourcesOf(OrderStatus.UPDATED));
+		assertTrue(OrderStatus.sourcesOf(OrderStatus.CREATED).isEmpty());
+	}
+
+	//Negative test case : of
+	@Test
+	void of_Unknown() {
+		assertEquals(OrderStatus.ACCEPTED, OrderStatus.of("ACCEPTED"));
+		assertNull(OrderStatus.of("accepted"));
+		assertNull(OrderStatus.of(null));
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.eatza.order.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
+import com.eatza.order.model.OrderedItem;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Migrates a schema holding orders, built the way Hibernate built it before Flyway took
+ * over, with the settings the service starts with, then lets the entities validate
+ * against the result and write to it. Skipped where the embedded server cannot be started.
+ */
+@SpringJUnitConfig(LegacySchemaMigrationTest.Config.class)
+class LegacySchemaMigrationTest {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	OrderRepository orderRepository;
+
+	@Autowired
+	OrderedItemRepository orderedItemRepository;
+
+	@BeforeAll
+	static void startDatabase() throws Exception {
+		try {
+			postgres = EmbeddedPostgres.start();
+		} catch(Exception ex) {
+			Assumptions.abort("Embedded PostgreSQL unavailable: " + ex.getMessage());
+		}
+		try(Connection connection = postgres.getPostgresDatabase().getConnection();
+				Statement statement = connection.createStatement()) {
+			// ddl-auto: create output for the identity-keyed entities of that time
+			statement.execute("CREATE SCHEMA eatza");
+			statement.execute("create table eatza.orders (id bigint generated by default as identity, "
+					+ "customer_id bigint, restaurant_id bigint, create_date_time timestamp(6), status varchar(255), "
+					+ "update_date_time timestamp(6), primary key (id))");
+			statement.execute("create table eatza.ordered_items (price float(53) not null, quantity integer not null, "
+					+ "id bigint generated by default as identity, item_id bigint, order_id bigint not null, "
+					+ "name varchar(255), primary key (id))");
+			statement.execute("alter table if exists eatza.ordered_items add constraint FKlegacyorder "
+					+ "foreign key (order_id) references eatza.orders on delete cascade");
+			statement.execute("INSERT INTO eatza.orders (customer_id, restaurant_id, status) "
+					+ "SELECT 1, 1, 'COMPLETED' FROM generate_series(1, 120)");
+			statement.execute("INSERT INTO eatza.ordered_items (name, quantity, price, item_id, order_id) "
+					+ "VALUES ('Dosa', 3, 30.0, 1, 120), ('Rice', 2, 15.5, 2, 120)");
+		}
+		flyway().migrate();
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if(postgres != null)
+			postgres.close();
+	}
+
+	//Positive test case : migrate
+	@Test
+	void migrate_AppliedOnTopOfBaseline() {
+		MigrationInfoService info = flyway().info();
+		assertEquals(0, info.pending().length);
+		assertEquals("3", info.current().getVersion().getVersion());
+		assertEquals(121.0, orderedItemRepository.findAmountByOrderId(120l));
+	}
+
+	//Positive test case : save
+	@Test
+	void save_IdsContinuePastLegacyRows() {
+		Order order = orderRepository.save(new Order(2l, OrderStatus.CREATED.name(), 1l));
+		List<OrderedItem> items = orderedItemRepository.saveAll(Arrays.asList(
+				new OrderedItem("Dosa", 1, 30.0, order, 1l),
+				new OrderedItem("Rice", 1, 15.5, order, 2l)));
+
+		assertTrue(order.getId() > 120);
+		assertTrue(items.get(0).getId() > 2);
+		assertEquals(0l, order.getVersion());
+	}
+
+	private static Flyway flyway() {
+		// mirrors spring.flyway in application-local.yml
+		return Flyway.configure()
+			.dataSource(postgres.getPostgresDatabase())
+			.locations("classpath:db/migration/postgresql")
+			.schemas("eatza")
+			.baselineOnMigrate(true)
+			.baselineVersion("0")
+			.load();
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+	static class Config {
+
+		@Bean
+		DataSource dataSource() {
+			return postgres.getPostgresDatabase();
+		}
+
+		@Bean
+		LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+			LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+			entityManagerFactory.setDataSource(dataSource);
+			entityManagerFactory.setPackagesToScan(Order.class.getPackage().getName());
+			entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+			entityManagerFactory.getJpaPropertyMap().put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+			entityManagerFactory.getJpaPropertyMap().put("hibernate.hbm2ddl.auto", "validate");
+			return entityManagerFactory;
+		}
+
+		@Bean
+		PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.eatza.order.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
+import com.eatza.order.model.OrderedItem;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Runs the status transition statements against the migrated schema on an embedded
+ * PostgreSQL. Skipped where the embedded server cannot be started.
+ */
+@SpringJUnitConfig(OrderRepositoryTest.Config.class)
+class OrderRepositoryTest {
+
+	private static EmbeddedPostgres postgres;
+
+	@Autowired
+	OrderRepository orderRepository;
+
+	@Autowired
+	OrderedItemRepository orderedItemRepository;
+
+	private Order order;
+
+	@BeforeAll
+	static void startDatabase() throws Exception {
+		try {
+			postgres = EmbeddedPostgres.start();
+		} catch(Exception ex) {
+			Assumptions.abort("Embedded PostgreSQL unavailable: " + ex.getMessage());
+		}
+		Flyway.configure()
+			.dataSource(postgres.getPostgresDatabase())
+			.locations("classpath:db/migration/postgresql")
+			.schemas("eatza")
+			.load()
+			.migrate();
+	}
+
+	@AfterAll
+	static void stopDatabase() throws Exception {
+		if(postgres != null)
+			postgres.close();
+	}
+
+	@BeforeEach
+	void setUp() throws Exception {
+		order = orderRepository.save(new Order(1l, OrderStatus.CREATED.name(), 1l));
+	}
+
+	//Positive test case : transitionStatus
+	@Test
+	void transitionStatus_Success() {
+		Optional<Order> accepted = orderRepository.transitionStatus(order.getId(), OrderStatus.ACCEPTED);
+
+		assertTrue(accepted.isPresent());
+		assertEquals(OrderStatus.ACCEPTED.name(), accepted.get().getStatus());
+		assertEquals(1l, accepted.get().getRestaurantId());
+		assertEquals(OrderStatus.ACCEPTED.name(), orderRepository.findById(order.getId()).get().getStatus());
+	}
+
+	//Negative test case : transitionStatus
+	@Test
+	void transitionStatus_NotAllowed() {
+		assertTrue(orderRepository.transitionStatus(order.getId(), OrderStatus.DISPATCHED).isPresent());
+
+		assertFalse(orderRepository.transitionStatus(order.getId(), OrderStatus.CANCELLED).isPresent());
+		assertFalse(orderRepository.transitionStatus(order.getId(), OrderStatus.ACCEPTED).isPresent());
+		assertEquals(OrderStatus.DISPATCHED.name(), orderRepository.findById(order.getId()).get().getStatus());
+	}
+
+	//Negative test case : transitionStatus
+	@Test
+	void transitionStatus_OtherCustomer() {
+		assertFalse(orderRepository.transitionStatus(order.getId(), 2l, OrderStatus.CANCELLED).isPresent());
+		assertTrue(orderRepository.transitionStatus(order.getId(), 1l, OrderStatus.CANCELLED).isPresent());
+		assertFalse(orderRepository.transitionStatus(order.getId(), 1l, OrderStatus.CANCELLED).isPresent());
+	}
+
+	//Positive test case : transitionStatus
+	@Test
+	void transitionStatus_UpdatedOrder() {
+		Order updated = orderRepository.save(new Order(1l, OrderStatus.UPDATED.name(), 1l));
+		Order updatedThenAccepted = orderRepository.save(new Order(1l, OrderStatus.UPDATED.name(), 1l));
+
+		Optional<Order> cancelled = orderRepository.transitionStatus(updated.getId(), 1l, OrderStatus.CANCELLED);
+		assertTrue(cancelled.isPresent());
+		assertEquals(OrderStatus.CANCELLED.name(), cancelled.get().getStatus());
+		assertTrue(orderRepository.transitionStatus(updatedThenAccepted.getId(), OrderStatus.ACCEPTED).isPresent());
+	}
+
+	//Positive test case : transitionStatusAtVersion
+	@Test
+	void transitionStatusAtVersion_RejectsStale() {
+		assertEquals(0l, order.getVersion());
+		Optional<Order> accepted = orderRepository.transitionStatusAtVersion(order.getId(), 0l, OrderStatus.ACCEPTED);
+		assertEquals(1l, accepted.get().getVersion());
+
+		assertFalse(orderRepository.transitionStatusAtVersion(order.getId(), 0l, OrderStatus.PREPARING).isPresent());
+		assertTrue(orderRepository.transitionStatusAtVersion(order.getId(), 1l, OrderStatus.PREPARING).isPresent());
+	}
+
+	//Negative test case : save
+	@Test
+	void save_StaleVersion() {
+		orderRepository.transitionStatus(order.getId(), OrderStatus.ACCEPTED);
+		order.setStatus(OrderStatus.UPDATED.name());
+
+		assertThrows(ObjectOptimisticLockingFailureException.class, () -> orderRepository.save(order));
+	}
+
+	//Positive test case : findAmountByOrderId
+	@Test
+	void findAmountByOrderId_WeighsQuantity() {
+		orderedItemRepository.saveAll(Arrays.asList(
+				new OrderedItem("Dosa", 3, 30.0, order, 1l),
+				new OrderedItem("Rice", 2, 15.5, order, 2l)));
+
+		assertEquals(121.0, orderedItemRepository.findAmountByOrderId(order.getId()));
+	}
+
+	//Negative test case : transitionStatus
+	@Test
+	void transitionStatus_MissingOrder() {
+		assertFalse(orderRepository.transitionStatus(-1l, OrderStatus.ACCEPTED).isPresent());
+	}
+
+	@Configuration
+	@EnableTransactionManagement
+	@EnableJpaRepositories(basePackageClasses = OrderRepository.class)
+	static class Config {
+
+		@Bean
+		DataSource dataSource() {
+			return postgres.getPostgresDatabase();
+		}
+
+		@Bean
+		LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+			LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+			entityManagerFactory.setDataSource(dataSource);
+			entityManagerFactory.setPackagesToScan(Order.class.getPackage().getName());
+			entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+			// the naming Spring Boot applies, so validation checks the columns the service really maps
+			entityManagerFactory.getJpaPropertyMap().put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+			entityManagerFactory.getJpaPropertyMap().put("hibernate.hbm2ddl.auto", "validate");
+			return entityManagerFactory;
+		}
+
+		@Bean
+		PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+			return new JpaTransactionManager(entityManagerFactory);
+		}
+	}
+
+}
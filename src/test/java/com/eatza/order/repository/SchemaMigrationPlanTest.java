@@ -0,0 +1,126 @@
+package com.eatza.order.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+/**
+ * Applies the migrations to an embedded PostgreSQL, loads a mostly-finished order
+ * history and checks the hot repository queries are planned on the intended indexes.
+ * Skipped where the embedded server cannot be started.
+ */
+class SchemaMigrationPlanTest {
+
+	private static EmbeddedPostgres postgres;
+
+	private static Connection connection;
+
+	@BeforeAll
+	static void setUp() throws Exception {
+		try {
+			postgres = EmbeddedPostgres.start();
+		} catch(Exception ex) {
+			Assumptions.abort("Embedded PostgreSQL unavailable: " + ex.getMessage());
+		}
+		Flyway.configure()
+			.dataSource(postgres.getPostgresDatabase())
+			.locations("classpath:db/migration/postgresql")
+			.schemas("eatza")
+			.load()
+			.migrate();
+
+		connection = postgres.getPostgresDatabase().getConnection();
+		try(Statement statement = connection.createStatement()) {
+			statement.execute("INSERT INTO eatza.orders (id, customer_id, status, restaurant_id, total_amount_minor) "
+					+ "SELECT g, g % 500, CASE WHEN g % 50 = 0 THEN 'CREATED' WHEN g % 7 = 0 THEN 'CANCELLED' ELSE 'COMPLETED' END, "
+					+ "g % 40, 1000 FROM generate_series(1, 20000) g");
+			statement.execute("INSERT INTO eatza.ordered_items (id, name, quantity, price, item_id, order_id) "
+					+ "SELECT g, 'Dosa', 1 + g % 3, 30.0, g % 200, 1 + g % 20000 FROM generate_series(1, 60000) g");
+			statement.execute("VACUUM ANALYZE eatza.orders");
+			statement.execute("VACUUM ANALYZE eatza.ordered_items");
+		}
+	}
+
+	@AfterAll
+	static void tearDown() throws Exception {
+		if(connection != null)
+			connection.close();
+		if(postgres != null)
+			postgres.close();
+	}
+
+	//Positive test case : migrate
+	@Test
+	void migrate_AppliedAll() {
+		MigrationInfoService info = Flyway.configure()
+			.dataSource(postgres.getPostgresDatabase())
+			.locations("classpath:db/migration/postgresql")
+			.schemas("eatza")
+			.load()
+			.info();
+		assertEquals(0, info.pending().length);
+		assertEquals("3", info.current().getVersion().getVersion());
+	}
+
+	//Positive test case : findAmountByOrderId
+	@Test
+	void findAmountByOrderId_IndexOnlyScan() throws Exception {
+		String plan = explain("SELECT sum(price * quantity) FROM eatza.ordered_items WHERE order_id = 42");
+		assertTrue(plan.contains("Index Only Scan using ordered_items_order_id_idx"), plan);
+	}
+
+	//Positive test case : findByOrderId
+	@Test
+	void findByOrderId_UsesOrderIndex() throws Exception {
+		String plan = explain("SELECT * FROM eatza.ordered_items WHERE order_id = 42");
+		assertTrue(plan.contains("ordered_items_order_id_idx"), plan);
+		assertFalse(plan.contains("Seq Scan"), plan);
+	}
+
+	//Positive test case : deleteByOrder_id
+	@Test
+	void deleteByOrderId_UsesOrderIndex() throws Exception {
+		String plan = explain("DELETE FROM eatza.ordered_items WHERE order_id = 42");
+		assertTrue(plan.contains("ordered_items_order_id_idx"), plan);
+	}
+
+	//Positive test case : findActiveOrderById
+	@Test
+	void findActiveOrderById_IndexScan() throws Exception {
+		String plan = explain("SELECT * FROM eatza.orders WHERE id = 50 AND customer_id = 50 "
+				+ "AND status NOT IN ('CANCELLED', 'COMPLETED')");
+		assertTrue(plan.startsWith("Index Scan"), plan);
+	}
+
+	//Positive test case : active orders by customer and restaurant
+	@Test
+	void activeOrdersByCustomer_PartialIndex() throws Exception {
+		String plan = explain("SELECT * FROM eatza.orders WHERE customer_id = 100 AND restaurant_id = 20 "
+				+ "AND status NOT IN ('CANCELLED', 'COMPLETED')");
+		assertTrue(plan.contains("orders_active_customer_restaurant_idx"), plan);
+	}
+
+	private static String explain(String query) throws Exception {
+		StringBuilder plan = new StringBuilder();
+		try(Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("EXPLAIN " + query)) {
+			while(resultSet.next())
+				plan.append(resultSet.getString(1)).append('\n');
+		}
+		return plan.toString();
+	}
+
+}
@@ -0,0 +1,530 @@
+package com.eatza.order.service.catalogservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.client.RestTemplate;
+
+import com.eatza.order.config.CatalogResilienceConfig;
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.dto.MenuFetchDto;
+import com.eatza.order.dto.RestaurantFetchDto;
+import com.eatza.order.exception.OrderException;
+import com.eatza.order.util.CredentialContext;
+import com.eatza.order.util.ServiceCredentialProvider;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogServiceImplTest {
+
+	@Mock
+	RestTemplate restTemplate;
+
+	@Mock
+	ServiceCredentialProvider serviceCredentialProvider;
+
+	@InjectMocks
+	CatalogServiceImpl catalogServiceImpl;
+
+	@Captor
+	ArgumentCaptor<HttpEntity<?>> entity;
+
+	private String restaurantServiceItemUrl = "http://searchUrl/{itemId}";
+
+	private String restaurantServiceItemsUrl = "http://searchUrl/ids?ids={itemIds}";
+
+	private ItemFetchDto dosa;
+
+	private ItemFetchDto rice;
+
+	private CircuitBreaker circuitBreaker;
+
+	private ItemCatalogCache itemCatalogCache;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		catalogServiceImpl.setRestaurantServiceItemUrl(restaurantServiceItemUrl);
+		catalogServiceImpl.setRestaurantServiceItemsUrl(restaurantServiceItemsUrl);
+		catalogServiceImpl.setParallelism(2);
+		catalogServiceImpl.setBatchReprobeInterval(Duration.ofMinutes(10));
+		catalogServiceImpl.setCatalogExecutor(Runnable::run);
+		itemCatalogCache = new ItemCatalogCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofSeconds(30), 100, Duration.ofMinutes(1));
+		catalogServiceImpl.setItemCatalogCache(itemCatalogCache);
+		catalogServiceImpl.setMenuAvailabilityCache(new MenuAvailabilityCache(Clock.systemUTC(), 100));
+		catalogServiceImpl.setMeterRegistry(new SimpleMeterRegistry());
+		circuitBreaker = CircuitBreaker.of("test", CircuitBreakerConfig.custom()
+				.slidingWindowSize(2)
+				.minimumNumberOfCalls(2)
+				.recordException(CatalogResilienceConfig::isRestaurantServiceFailure)
+				.ignoreException(CatalogResilienceConfig::isAbandonedCall)
+				.build());
+		catalogServiceImpl.setCatalogCircuitBreaker(circuitBreaker);
+		catalogServiceImpl.setCatalogBulkhead(Bulkhead.ofDefaults("test"));
+		catalogServiceImpl.bindMetrics();
+
+		RestaurantFetchDto restaurantFetchDto = new RestaurantFetchDto(1l, "Hotel Tridev", "Jatni", "Indian veg", 1000, 4.2);
+		MenuFetchDto menuFetchDto = new MenuFetchDto(1l, "0", "23", restaurantFetchDto);
+		dosa = new ItemFetchDto(1l, "Dosa", "Onion Dosa", 30, menuFetchDto);
+		rice = new ItemFetchDto(2l, "Rice", "Plain Rice", 15, menuFetchDto);
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_Batch() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {dosa, rice}));
+
+		Map<Long, ItemFetchDto> items = catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l, 1l));
+		assertEquals(2, items.size());
+		assertEquals("Dosa", items.get(1l).getName());
+		assertEquals("Rice", items.get(2l).getName());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_BatchNotSupported() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Not found", 404, "", null, null, null));
+		when(restTemplate.exchange(eq(restaurantServiceItemUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(dosa))
+			.thenReturn(ResponseEntity.ok(rice))
+			.thenReturn(ResponseEntity.ok(dosa));
+
+		Map<Long, ItemFetchDto> items = catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+		assertEquals(2, items.size());
+
+		catalogServiceImpl.getItemsByIds(Arrays.asList(3l));
+		verify(restTemplate, times(1)).exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_BatchRouteBadRequest() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Bad request", 400, "", null, null, null));
+		when(restTemplate.exchange(eq(restaurantServiceItemUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(dosa))
+			.thenReturn(ResponseEntity.ok(rice));
+
+		Map<Long, ItemFetchDto> items = catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+		assertEquals(2, items.size());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_BatchReprobed() {
+		catalogServiceImpl.setBatchReprobeInterval(Duration.ZERO);
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Not found", 404, "", null, null, null))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {rice}));
+		when(restTemplate.exchange(eq(restaurantServiceItemUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(dosa));
+
+		catalogServiceImpl.getItemsByIds(Arrays.asList(1l));
+		assertEquals("Rice", catalogServiceImpl.getItemsByIds(Arrays.asList(2l)).get(2l).getName());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_BatchThrottled() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Too many requests", 429, "", null, null, null))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {dosa}));
+
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l));});
+		assertEquals("Dosa", catalogServiceImpl.getItemsByIds(Arrays.asList(1l)).get(1l).getName());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_BatchUnauthorized() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Unauthorized", 401, "", null, null, null));
+
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));});
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_SingleLookupEmptyBody() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl("");
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(null));
+
+		Map<Long, ItemFetchDto> items = catalogServiceImpl.getItemsByIds(Arrays.asList(1l));
+		assertTrue(items.isEmpty());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_CacheHit() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {dosa}));
+
+		catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+		Map<Long, ItemFetchDto> items = catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+
+		assertEquals(1, items.size());
+		assertEquals("Dosa", items.get(1l).getName());
+		verify(restTemplate, times(1)).exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_NegativeCacheHit() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl("");
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(null));
+		ItemValidator validator = (itemId, item) -> {
+			if(item == null)
+				throw new OrderException("Item not found");
+		};
+
+		assertThrows(OrderException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(9l), validator);});
+		assertThrows(OrderException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(9l), validator);});
+		verify(restTemplate, times(1)).exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap());
+	}
+
+	//Positive test case : evictCatalogEntries
+	@Test
+	void evictCatalogEntries_Success() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {dosa, rice}));
+
+		catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+		catalogServiceImpl.evictCatalogEntries(Arrays.asList(1l), null);
+		catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+		catalogServiceImpl.evictCatalogEntries(null, Arrays.asList(1l));
+		catalogServiceImpl.getItemsByIds(Arrays.asList(2l));
+
+		verify(restTemplate, times(3)).exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_Empty() {
+		assertTrue(catalogServiceImpl.getItemsByIds(Arrays.asList()).isEmpty());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_ValidatorRejectsItem() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl("");
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(dosa));
+
+		OrderException exception = assertThrows(OrderException.class, () -> {
+			catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l), (itemId, item) -> {
+				throw new OrderException("Item not in given restaurant");
+			});
+		});
+		assertEquals("Item not in given restaurant", exception.getMessage());
+		verify(restTemplate, times(1)).exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_BatchServerError() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Error occured", 500, "", null, null, null));
+
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));});
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_SingleLookupError() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl(null);
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RuntimeException("Error occured"));
+
+		assertThrows(RuntimeException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));});
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_CircuitOpen() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl(null);
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Error occured", 503, "", null, null, null));
+
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l));});
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(2l));});
+		assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+		OrderException exception = assertThrows(OrderException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(3l));});
+		assertEquals("Restaurant service is currently unavailable, please try again later", exception.getMessage());
+		verify(restTemplate, times(2)).exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_RejectionsDoNotOpenCircuit() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl(null);
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new RestClientResponseException("Not found", 404, "", null, null, null));
+
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l));});
+		assertThrows(RestClientResponseException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(2l));});
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_GuardsEachCall() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl(null);
+		when(restTemplate.exchange(anyString(),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(dosa))
+			.thenReturn(ResponseEntity.ok(rice));
+
+		assertThrows(OrderException.class, () -> {
+			catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l), (itemId, item) -> {
+				if(itemId == 2l)
+					throw new OrderException("Item not in given restaurant");
+			});
+		});
+		assertEquals(2, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+		assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+
+		catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));
+		assertEquals(2, circuitBreaker.getMetrics().getNumberOfSuccessfulCalls());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_InterruptedCallNotRecorded() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenThrow(new ResourceAccessException("I/O error", new InterruptedIOException()));
+
+		assertThrows(ResourceAccessException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l));});
+		assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_BulkheadFull() {
+		Bulkhead bulkhead = Bulkhead.of("test", BulkheadConfig.custom()
+				.maxConcurrentCalls(1)
+				.maxWaitDuration(Duration.ZERO)
+				.build());
+		bulkhead.acquirePermission();
+		catalogServiceImpl.setCatalogBulkhead(bulkhead);
+
+		OrderException exception = assertThrows(OrderException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l));});
+		assertEquals("Restaurant service is currently unavailable, please try again later", exception.getMessage());
+		assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_EvictedDuringFetch() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenAnswer(invocation -> {
+				catalogServiceImpl.evictCatalogEntries(Arrays.asList(2l), null);
+				return ResponseEntity.ok(new ItemFetchDto[] {dosa, rice});
+			});
+
+		assertEquals(2, catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l)).size());
+		assertEquals("Dosa", itemCatalogCache.get(1l).getItem().getName());
+		assertNull(itemCatalogCache.get(2l));
+	}
+
+	//Negative test case : getItemsByIds
+	@Test
+	void getItemsByIds_ExecutorSaturated() {
+		catalogServiceImpl.setRestaurantServiceItemsUrl(null);
+		catalogServiceImpl.setCatalogExecutor(command -> {
+			throw new RejectedExecutionException("catalog pool is full");
+		});
+
+		OrderException exception = assertThrows(OrderException.class, () -> {catalogServiceImpl.getItemsByIds(Arrays.asList(1l, 2l));});
+		assertEquals("Restaurant service is currently unavailable, please try again later", exception.getMessage());
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_ForwardsRequestToken() {
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {dosa}));
+
+		try(CredentialContext.Scope scope = CredentialContext.open("customerToken")) {
+			catalogServiceImpl.getItemsByIds(Arrays.asList(1l));
+		}
+		verify(restTemplate).exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				entity.capture(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap());
+		assertEquals("Bearer customerToken", entity.getValue().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+	}
+
+	//Positive test case : getItemsByIds
+	@Test
+	void getItemsByIds_PrefersServiceCredential() {
+		when(serviceCredentialProvider.currentToken()).thenReturn("serviceToken");
+		when(restTemplate.exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				ArgumentMatchers.<HttpEntity<?>>any(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap()))
+			.thenReturn(ResponseEntity.ok(new ItemFetchDto[] {dosa}));
+
+		try(CredentialContext.Scope scope = CredentialContext.open("customerToken")) {
+			catalogServiceImpl.getItemsByIds(Arrays.asList(1l));
+		}
+		verify(restTemplate).exchange(eq(restaurantServiceItemsUrl),
+				ArgumentMatchers.any(HttpMethod.class),
+				entity.capture(),
+				ArgumentMatchers.<Class<ItemFetchDto[]>>any(),
+				ArgumentMatchers.anyMap());
+		assertEquals("Bearer serviceToken", entity.getValue().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+	}
+
+}
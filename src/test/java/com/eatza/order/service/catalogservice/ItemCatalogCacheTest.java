@@ -0,0 +1,121 @@
+package com.eatza.order.service.catalogservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.dto.MenuFetchDto;
+import com.eatza.order.dto.RestaurantFetchDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ItemCatalogCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private ItemCatalogCache itemCatalogCache;
+
+	private ItemFetchDto dosa;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		itemCatalogCache = new ItemCatalogCache(meterRegistry, Duration.ofMinutes(5), Duration.ofSeconds(30), 2, Duration.ofMinutes(1));
+
+		RestaurantFetchDto restaurantFetchDto = new RestaurantFetchDto(1l, "Hotel Tridev", "Jatni", "Indian veg", 1000, 4.2);
+		dosa = new ItemFetchDto(1l, "Dosa", "Onion Dosa", 30, new MenuFetchDto(1l, "0", "23", restaurantFetchDto));
+	}
+
+	//Positive test case : get
+	@Test
+	void get_HitMissAndNegative() {
+		itemCatalogCache.put(1l, dosa);
+		itemCatalogCache.put(2l, null);
+
+		assertFalse(itemCatalogCache.get(1l).isNegative());
+		assertEquals("Dosa", itemCatalogCache.get(1l).getItem().getName());
+		assertTrue(itemCatalogCache.get(2l).isNegative());
+		assertNull(itemCatalogCache.get(3l));
+
+		assertEquals(3.0, meterRegistry.get("cache.gets").tag("cache", ItemCatalogCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", ItemCatalogCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+	}
+
+	//Positive test case : put
+	@Test
+	void put_SizeBound() {
+		for(long itemId = 1; itemId <= 10; itemId++) {
+			itemCatalogCache.put(itemId, dosa);
+		}
+		assertTrue(itemCatalogCache.size() <= 2);
+	}
+
+	//Positive test case : invalidate
+	@Test
+	void invalidate_Success() {
+		itemCatalogCache.put(1l, dosa);
+		itemCatalogCache.invalidate(1l);
+		assertNull(itemCatalogCache.get(1l));
+	}
+
+	//Positive test case : invalidateMenu
+	@Test
+	void invalidateMenu_Success() {
+		ItemFetchDto rice = new ItemFetchDto(2l, "Rice", "Plain Rice", 15, new MenuFetchDto(2l, "0", "23", null));
+		itemCatalogCache.put(1l, dosa);
+		itemCatalogCache.put(2l, rice);
+
+		itemCatalogCache.invalidateMenu(1l);
+		assertNull(itemCatalogCache.get(1l));
+		assertEquals("Rice", itemCatalogCache.get(2l).getItem().getName());
+	}
+
+	//Positive test case : put
+	@Test
+	void put_LoadStartedAfterEviction() {
+		itemCatalogCache.invalidate(1l);
+		itemCatalogCache.invalidateMenu(1l);
+
+		itemCatalogCache.put(1l, dosa, itemCatalogCache.startLoad());
+		assertEquals("Dosa", itemCatalogCache.get(1l).getItem().getName());
+	}
+
+	//Negative test case : put
+	@Test
+	void put_ItemEvictedDuringLoad() {
+		long loadStamp = itemCatalogCache.startLoad();
+		itemCatalogCache.invalidate(1l);
+
+		itemCatalogCache.put(1l, dosa, loadStamp);
+		assertNull(itemCatalogCache.get(1l));
+	}
+
+	//Negative test case : put
+	@Test
+	void put_MenuEvictedDuringLoad() {
+		long loadStamp = itemCatalogCache.startLoad();
+		itemCatalogCache.invalidateMenu(1l);
+
+		itemCatalogCache.put(1l, dosa, loadStamp);
+		itemCatalogCache.put(2l, null, loadStamp);
+		assertNull(itemCatalogCache.get(1l));
+		assertTrue(itemCatalogCache.get(2l).isNegative());
+	}
+
+	//Negative test case : put
+	@Test
+	void put_LoadOutlivedFenceWindow() {
+		itemCatalogCache = new ItemCatalogCache(meterRegistry, Duration.ofMinutes(5), Duration.ofSeconds(30), 2, Duration.ZERO);
+
+		itemCatalogCache.put(1l, dosa, itemCatalogCache.startLoad());
+		assertNull(itemCatalogCache.get(1l));
+	}
+
+}
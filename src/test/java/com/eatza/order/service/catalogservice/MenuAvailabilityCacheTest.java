@@ -0,0 +1,73 @@
+package com.eatza.order.service.catalogservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eatza.order.dto.MenuFetchDto;
+
+class MenuAvailabilityCacheTest {
+
+	private MenuAvailabilityCache menuAvailabilityCache;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		// 06:45 UTC is 12:15 in the restaurants' zone
+		Clock clock = Clock.fixed(Instant.parse("2019-08-24T06:45:00Z"), ZoneId.of("Asia/Kolkata"));
+		menuAvailabilityCache = new MenuAvailabilityCache(clock, 100);
+	}
+
+	//Positive test case : currentHour
+	@Test
+	void currentHour_RestaurantTimeZone() {
+		assertEquals(12, menuAvailabilityCache.currentHour());
+	}
+
+	//Positive test case : isAvailable
+	@Test
+	void isAvailable_DayWindow() {
+		MenuFetchDto menu = new MenuFetchDto(1l, "9", "15", null);
+
+		assertTrue(menuAvailabilityCache.isAvailable(menu, 9));
+		assertTrue(menuAvailabilityCache.isAvailable(menu, 15));
+		assertFalse(menuAvailabilityCache.isAvailable(menu, 8));
+		assertFalse(menuAvailabilityCache.isAvailable(menu, 16));
+	}
+
+	//Positive test case : isAvailable
+	@Test
+	void isAvailable_OvernightWindow() {
+		MenuFetchDto menu = new MenuFetchDto(2l, "22", "2", null);
+
+		assertTrue(menuAvailabilityCache.isAvailable(menu, 23));
+		assertTrue(menuAvailabilityCache.isAvailable(menu, 0));
+		assertTrue(menuAvailabilityCache.isAvailable(menu, 2));
+		assertFalse(menuAvailabilityCache.isAvailable(menu, 12));
+	}
+
+	//Positive test case : isAvailable
+	@Test
+	void isAvailable_MenuHoursChanged() {
+		MenuFetchDto menu = new MenuFetchDto(1l, "9", "15", null);
+		assertTrue(menuAvailabilityCache.isAvailable(menu, 12));
+
+		menu.setActiveFrom("13");
+		assertFalse(menuAvailabilityCache.isAvailable(menu, 12));
+	}
+
+	//Negative test case : isAvailable
+	@Test
+	void isAvailable_InvalidHours() {
+		MenuFetchDto menu = new MenuFetchDto(1l, "nine", "15", null);
+		assertThrows(NumberFormatException.class, () -> {menuAvailabilityCache.isAvailable(menu, 12);});
+	}
+
+}
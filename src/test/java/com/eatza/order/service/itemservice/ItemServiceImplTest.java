@@ -6,6 +6,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
@@ -79,6 +82,25 @@ class ItemServiceImplTest {
 		
 	}
 	
+	//Positive test case : saveItems
+	@Test
+	void saveItems_Success() throws OrderException {
+		when(itemRepository.saveAll(orderedItemList)).thenReturn(orderedItemList);
+		List<OrderedItem> items = itemServiceImpl.saveItems(orderedItemList);
+		
+		assertEquals(2, items.size());
+		assertEquals(orderedItemList.get(1).getName(), items.get(1).getName());
+		verify(itemRepository, times(1)).saveAll(orderedItemList);
+		verify(itemRepository, never()).save(any());
+	}
+	
+	//Negative test case : saveItems
+	@Test
+	void saveItems_Failed() {
+		when(itemRepository.saveAll(any())).thenThrow(new RuntimeException());
+		assertThrows(OrderException.class, () -> {itemServiceImpl.saveItems(orderedItemList);});
+	}
+	
 	//Positive test case : findAmountbyOrderId
 	@Test
 	void findAmountbyOrderId_Success() throws OrderException {
@@ -116,6 +138,21 @@ class ItemServiceImplTest {
 		
 	}
 	
+	//Positive test case : deleteItems
+	@Test
+	void deleteItems_Success() throws OrderException {
+		doNothing().when(itemRepository).deleteAllByIdInBatch(any());
+		assertDoesNotThrow(() -> itemServiceImpl.deleteItems(List.of(1l, 2l)));
+		verify(itemRepository).deleteAllByIdInBatch(List.of(1l, 2l));
+	}
+	
+	//Negative test case : deleteItems
+	@Test
+	void deleteItems_Failed() {
+		doThrow(new RuntimeException()).when(itemRepository).deleteAllByIdInBatch(any());
+		assertThrows(OrderException.class, () -> {itemServiceImpl.deleteItems(List.of(1l));});
+	}
+	
 	//Positive test case : findAmountbyOrderId
 	@Test
 	void findbyOrderId_Success() throws OrderException {
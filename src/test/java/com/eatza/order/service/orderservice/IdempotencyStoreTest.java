@@ -0,0 +1,134 @@
+package com.eatza.order.service.orderservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eatza.order.exception.OrderException;
+import com.eatza.order.model.Order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private IdempotencyStore idempotencyStore;
+
+	private ExecutorService executor;
+
+	private Order order;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		idempotencyStore = new IdempotencyStore(meterRegistry, Duration.ofMinutes(1), 100, Duration.ofSeconds(5));
+		executor = Executors.newSingleThreadExecutor();
+
+		order = new Order(1l, "CREATED", 1l);
+		order.setId(1l);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		executor.shutdownNow();
+	}
+
+	//Positive test case : execute
+	@Test
+	void execute_ConcurrentDuplicateWaitsForFirst() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger placed = new AtomicInteger();
+		Future<Order> first = executor.submit(() -> idempotencyStore.execute("1:key", "hash", () -> {
+			placed.incrementAndGet();
+			started.countDown();
+			await(release);
+			return order;
+		}));
+		started.await(5, TimeUnit.SECONDS);
+
+		Thread releaser = new Thread(() -> {
+			sleep(100);
+			release.countDown();
+		});
+		releaser.start();
+		Order duplicate = idempotencyStore.execute("1:key", "hash", () -> {
+			placed.incrementAndGet();
+			return new Order();
+		});
+
+		assertSame(order, duplicate);
+		assertSame(order, first.get(5, TimeUnit.SECONDS));
+		assertEquals(1, placed.get());
+		assertEquals(1.0, meterRegistry.get("order.idempotency.replays").counter().count());
+	}
+
+	//Positive test case : execute
+	@Test
+	void execute_FailedAttemptIsForgotten() {
+		assertThrows(OrderException.class, () -> {idempotencyStore.execute("1:key", "hash", () -> {
+			throw new OrderException("Item not found");
+		});});
+		assertEquals(0, idempotencyStore.size());
+
+		assertSame(order, idempotencyStore.execute("1:key", "hash", () -> order));
+		assertEquals(1, idempotencyStore.size());
+	}
+
+	//Negative test case : execute
+	@Test
+	void execute_DifferentRequestHash() {
+		idempotencyStore.execute("1:key", "hash", () -> order);
+
+		assertThrows(OrderException.class, () -> {idempotencyStore.execute("1:key", "otherHash", () -> order);});
+		assertEquals(1.0, meterRegistry.get("order.idempotency.mismatches").counter().count());
+	}
+
+	//Negative test case : execute
+	@Test
+	void execute_FirstAttemptStillRunning() throws Exception {
+		idempotencyStore = new IdempotencyStore(meterRegistry, Duration.ofMinutes(1), 100, Duration.ofMillis(50));
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Future<Order> first = executor.submit(() -> idempotencyStore.execute("1:key", "hash", () -> {
+			started.countDown();
+			await(release);
+			return order;
+		}));
+		started.await(5, TimeUnit.SECONDS);
+
+		assertThrows(OrderException.class, () -> {idempotencyStore.execute("1:key", "hash", () -> order);});
+		release.countDown();
+		assertSame(order, first.get(5, TimeUnit.SECONDS));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,123 @@
+package com.eatza.order.service.orderservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eatza.order.kafka.OrderInvalidationBroadcaster;
+import com.eatza.order.model.Order;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class OrderCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private OrderCache orderCache;
+
+	private Order order;
+
+	private OrderInvalidationBroadcaster orderInvalidationBroadcaster;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		orderCache = new OrderCache(meterRegistry, Duration.ofMinutes(1), 100);
+		orderInvalidationBroadcaster = mock(OrderInvalidationBroadcaster.class);
+		orderCache.setOrderInvalidationBroadcaster(orderInvalidationBroadcaster);
+
+		order = new Order(1l, "CREATED", 1l);
+		order.setId(1l);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if(TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	//Positive test case : get
+	@Test
+	void get_ReadThrough() {
+		AtomicInteger loads = new AtomicInteger();
+
+		assertSame(order, orderCache.get(1l, id -> { loads.incrementAndGet(); return Optional.of(order); }).get());
+		assertSame(order, orderCache.get(1l, id -> { loads.incrementAndGet(); return Optional.of(order); }).get());
+
+		assertEquals(1, loads.get());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", OrderCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", OrderCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+	}
+
+	//Negative test case : get
+	@Test
+	void get_MissingOrderNotCached() {
+		assertFalse(orderCache.get(2l, id -> Optional.empty()).isPresent());
+		assertEquals(0, orderCache.size());
+	}
+
+	//Positive test case : put
+	@Test
+	void put_Success() {
+		orderCache.put(order);
+		assertSame(order, orderCache.get(1l, id -> Optional.empty()).get());
+	}
+
+	//Positive test case : evict
+	@Test
+	void evict_AgainAfterTransactionCompletes() {
+		TransactionSynchronizationManager.initSynchronization();
+		orderCache.put(order);
+		orderCache.evict(1l);
+		assertEquals(0, orderCache.size());
+
+		// a read made before the commit lands
+		orderCache.put(order);
+		verify(orderInvalidationBroadcaster, never()).publish(any());
+		for(TransactionSynchronization synchronization: TransactionSynchronizationManager.getSynchronizations())
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		assertEquals(0, orderCache.size());
+		verify(orderInvalidationBroadcaster).publish(1l);
+	}
+
+	//Negative test case : evict
+	@Test
+	void evict_RolledBackNotBroadcast() {
+		TransactionSynchronizationManager.initSynchronization();
+		orderCache.evict(1l);
+		for(TransactionSynchronization synchronization: TransactionSynchronizationManager.getSynchronizations())
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		verify(orderInvalidationBroadcaster, never()).publish(any());
+	}
+
+	//Positive test case : evict
+	@Test
+	void evict_OutsideTransactionBroadcastsNow() {
+		orderCache.evict(1l);
+		verify(orderInvalidationBroadcaster).publish(1l);
+	}
+
+	//Positive test case : evictLocally
+	@Test
+	void evictLocally_NotBroadcast() {
+		orderCache.put(order);
+		orderCache.evictLocally(1l);
+		assertEquals(0, orderCache.size());
+		verify(orderInvalidationBroadcaster, never()).publish(any());
+	}
+
+}
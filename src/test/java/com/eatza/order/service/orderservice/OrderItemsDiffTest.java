@@ -0,0 +1,97 @@
+package com.eatza.order.service.orderservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eatza.order.dto.ItemFetchDto;
+import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderedItem;
+
+class OrderItemsDiffTest {
+
+	private Order order;
+
+	private Map<Long, ItemFetchDto> catalog;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		order = new Order(1l, "CREATED", 1l);
+		order.setId(1l);
+
+		catalog = new HashMap<>();
+		catalog.put(1l, new ItemFetchDto(1l, "Dosa", "Onion Dosa", 30, null));
+		catalog.put(2l, new ItemFetchDto(2l, "Rice", "Jeera Rice", 40, null));
+		catalog.put(3l, new ItemFetchDto(3l, "Vada", "Medu Vada", 20, null));
+	}
+
+	//Positive test case : between
+	@Test
+	void between_AddChangeRemove() {
+		OrderedItem dosa = line(10l, "Dosa", 2, 30, 1l);
+		OrderedItem rice = line(11l, "Rice", 1, 40, 2l);
+		OrderedItem vada = line(12l, "Vada", 1, 20, 3l);
+
+		Map<Long, Integer> quantities = new LinkedHashMap<>();
+		quantities.put(1l, 2);
+		quantities.put(2l, 3);
+		quantities.put(4l, 1);
+		catalog.put(4l, new ItemFetchDto(4l, "Idli", "Idli", 15, null));
+
+		OrderItemsDiff diff = OrderItemsDiff.between(List.of(dosa, rice, vada), quantities, catalog, order);
+
+		assertEquals(List.of(rice), diff.getChanged());
+		assertEquals(3, rice.getQuantity());
+		assertEquals(List.of(12l), diff.getRemovedIds());
+		assertEquals(1, diff.getAdded().size());
+		assertEquals(4l, diff.getAdded().get(0).getItemId());
+		assertEquals(List.of(dosa, rice, diff.getAdded().get(0)), diff.getLines());
+		assertEquals(List.of(rice, diff.getAdded().get(0)), diff.toSave());
+	}
+
+	//Positive test case : between
+	@Test
+	void between_RepricesKeptLine() {
+		OrderedItem dosa = line(10l, "Dosa", 2, 25, 1l);
+
+		OrderItemsDiff diff = OrderItemsDiff.between(List.of(dosa), Map.of(1l, 2), catalog, order);
+
+		assertEquals(List.of(dosa), diff.getChanged());
+		assertEquals(30.0, dosa.getPrice());
+	}
+
+	//Positive test case : between
+	@Test
+	void between_Unchanged() {
+		OrderedItem dosa = line(10l, "Dosa", 2, 30, 1l);
+
+		assertTrue(OrderItemsDiff.between(List.of(dosa), Map.of(1l, 2), catalog, order).isEmpty());
+	}
+
+	//Negative test case : between
+	@Test
+	void between_DuplicateLinesCollapsed() {
+		OrderedItem first = line(10l, "Dosa", 2, 30, 1l);
+		OrderedItem second = line(11l, "Dosa", 1, 30, 1l);
+
+		OrderItemsDiff diff = OrderItemsDiff.between(List.of(first, second), Map.of(1l, 2), catalog, order);
+
+		assertEquals(List.of(11l), diff.getRemovedIds());
+		assertEquals(List.of(first), diff.getLines());
+		assertTrue(diff.getChanged().isEmpty());
+	}
+
+	private OrderedItem line(Long id, String name, int quantity, double price, Long itemId) {
+		OrderedItem orderedItem = new OrderedItem(name, quantity, price, order, itemId);
+		orderedItem.setId(id);
+		return orderedItem;
+	}
+
+}
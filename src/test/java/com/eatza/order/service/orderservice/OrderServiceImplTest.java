@@ -1,33 +1,45 @@
 package com.eatza.order.service.orderservice;
 
-import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-import java.time.LocalTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentMatchers;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
+import org.mockito.stubbing.Answer;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.eatza.order.dto.ItemFetchDto;
 import com.eatza.order.dto.MenuFetchDto;
+import com.eatza.order.dto.OrderItemOperationDto;
+import com.eatza.order.dto.OrderItemsPatchDto;
 import com.eatza.order.dto.OrderRequestDto;
 import com.eatza.order.dto.OrderUpdateDto;
 import com.eatza.order.dto.OrderUpdateResponseDto;
@@ -36,12 +48,17 @@ import com.eatza.order.dto.RestaurantFetchDto;
 import com.eatza.order.exception.OrderException;
 import com.eatza.order.kafka.KafkaProducer;
 import com.eatza.order.model.Order;
+import com.eatza.order.model.OrderStatus;
 import com.eatza.order.model.OrderedItem;
 import com.eatza.order.repository.OrderRepository;
+import com.eatza.order.service.catalogservice.CatalogService;
+import com.eatza.order.service.catalogservice.ItemValidator;
+import com.eatza.order.service.catalogservice.MenuAvailabilityCache;
 import com.eatza.order.service.itemservice.ItemService;
-import com.eatza.order.util.ErrorCodesEnum;
 import com.eatza.order.util.JwtTokenUtil;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ExtendWith(MockitoExtension.class)
 class OrderServiceImplTest {
 
@@ -57,14 +74,19 @@ class OrderServiceImplTest {
 	@Mock
 	KafkaProducer kafkaProducer;
 
-	private String restaurantServiceItemUrl = "http://searchUrl";
-
 	@Mock
-	RestTemplate restTemplate;
+	CatalogService catalogService;
+	
+	@Mock
+	PlatformTransactionManager transactionManager;
 	
 	@InjectMocks
 	OrderServiceImpl orderServiceImpl;
 	
+	private static final int HOUR = 12;
+	
+	private Clock clock = Clock.fixed(Instant.parse("2019-08-24T12:30:00Z"), ZoneOffset.UTC);
+	
 	private List<OrderedItem> orderedItemList;
 	
 	private OrderRequestDto orderRequestDto;
@@ -73,10 +95,19 @@ class OrderServiceImplTest {
 	
 	private OrderUpdateDto orderUpdateDto;
 	
+	private SimpleMeterRegistry meterRegistry;
+	
 	@BeforeEach
 	void setUp() throws Exception {
 		
-		orderServiceImpl.setRestaurantServiceItemUrl(restaurantServiceItemUrl);
+		orderServiceImpl.setMenuAvailabilityCache(new MenuAvailabilityCache(clock, 100));
+		orderServiceImpl.setTransactionTemplate(new TransactionTemplate(transactionManager));
+		orderServiceImpl.setOrderCache(new OrderCache(new SimpleMeterRegistry(), Duration.ofMinutes(1), 100));
+		meterRegistry = new SimpleMeterRegistry();
+		orderServiceImpl.setIdempotencyStore(new IdempotencyStore(meterRegistry, Duration.ofMinutes(1), 100, Duration.ofSeconds(1)));
+		orderServiceImpl.setMeterRegistry(meterRegistry);
+		orderServiceImpl.setMaxWriteAttempts(3);
+		orderServiceImpl.bindMetrics();
 		
 		Order order = new Order(1l, "CREATED", 1l);
 		order.setId(1l);
@@ -116,7 +147,7 @@ class OrderServiceImplTest {
 		
 		RestaurantFetchDto newRestaurantFetchDto = new RestaurantFetchDto(2l, "Saffron spice", "Jatni", "Indian mixed", 2000, 4.2);
 		
-		Integer fromHour = LocalTime.now().getHour();
+		Integer fromHour = HOUR;
 		Integer toHour = fromHour+3;
 		MenuFetchDto morningMenuFetchDto = new MenuFetchDto();
 		morningMenuFetchDto.setId(1l);
@@ -143,20 +174,30 @@ class OrderServiceImplTest {
 		
 		
 	}
+	
+	// every requested item id resolves to the given catalog item, run through the caller's validator
+	private Answer<Map<Long, ItemFetchDto>> validatedItemsOf(ItemFetchDto item) {
+		return invocation -> {
+			Collection<Long> itemIds = invocation.getArgument(0);
+			ItemValidator validator = invocation.getArgument(1);
+			Map<Long, ItemFetchDto> items = new HashMap<>();
+			for(Long itemId: itemIds) {
+				validator.validate(itemId, item);
+				items.put(itemId, item);
+			}
+			return items;
+		};
+	}
 
 	//Positive test case : placeOrder
 	@Test
 	void placeOrder_Success() {
 		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
 		
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
-		when(itemService.saveItem(any())).thenReturn(orderedItemList.get(0));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
 		doNothing().when(kafkaProducer).publishOrder(any());
 		Order order = orderServiceImpl.placeOrder(orderRequestDto);
 		assertEquals(orderedItemList.get(0).getOrder().getId(), order.getId());
@@ -166,15 +207,65 @@ class OrderServiceImplTest {
 		
 	}
 	
+	//Positive test case : placeOrder
+	@Test
+	void placeOrder_StoresQuantityWeightedTotal() {
+		ArgumentCaptor<Order> savedOrder = ArgumentCaptor.forClass(Order.class);
+		when(orderRepository.save(savedOrder.capture())).thenReturn(orderedItemList.get(0).getOrder());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
+		doNothing().when(kafkaProducer).publishOrder(any());
+		
+		orderServiceImpl.placeOrder(orderRequestDto);
+		assertEquals(18000l, savedOrder.getValue().getTotalAmountMinor());
+	}
+	
+	//Positive test case : placeOrder
+	@Test
+	void placeOrder_RetryReturnsStoredOrder() {
+		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
+		
+		Order order = orderServiceImpl.placeOrder(orderRequestDto, "retry-key");
+		Order retried = orderServiceImpl.placeOrder(orderRequestDto, "retry-key");
+		
+		assertSame(order, retried);
+		verify(orderRepository, times(1)).save(any());
+		verify(catalogService, times(1)).getItemsByIds(any(), any());
+		verify(kafkaProducer, times(1)).publishOrder(any());
+		assertEquals(1.0, meterRegistry.get("order.idempotency.replays").counter().count());
+	}
+	
+	//Negative test case : placeOrder
+	@Test
+	void placeOrder_IdempotencyKeyReusedForDifferentRequest() {
+		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
+		
+		orderServiceImpl.placeOrder(orderRequestDto, "retry-key");
+		orderRequestDto.getItems().get(0).setQuantity(7);
+		
+		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto, "retry-key");});
+		verify(orderRepository, times(1)).save(any());
+	}
+	
 	//Negative test case : placeOrder
 	@Test
 	void placeOrder_ErrorSavingOrderEntity() {
 		String authorization = "Bearer token";
 		
 		
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		when(orderRepository.save(any())).thenThrow(new RuntimeException("Error occured while saving order"));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(itemService, never()).saveItems(any());
 		
 	}
 	
@@ -185,14 +276,10 @@ class OrderServiceImplTest {
 
 		
 		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
-		when(itemService.saveItem(any())).thenThrow(new RuntimeException("Error occured while saving item"));
+		when(itemService.saveItems(any())).thenThrow(new RuntimeException("Error occured while saving item"));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
 	}
@@ -211,15 +298,11 @@ class OrderServiceImplTest {
 		String authorization = "Bearer token";
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
+		when(catalogService.getItemsByIds(any(), any()))
 			.thenThrow(new RuntimeException("Error occured"));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : placeOrder
@@ -229,23 +312,9 @@ class OrderServiceImplTest {
 		orderRequestDto.getItems().get(0).setQuantity(0);
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		doNothing().when(orderRepository).delete(any());
-		
-		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
-	}
-	
-	//Negative test case : placeOrder
-	@Test
-	void placeOrder_QuantityException() {
-		String authorization = "Bearer token";
-		orderRequestDto.getItems().get(0).setQuantity(0);
-
-		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		doThrow(new RuntimeException("Error occured while deleting")).when(orderRepository).delete(any());
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : placeOrder
@@ -254,34 +323,11 @@ class OrderServiceImplTest {
 		String authorization = "Bearer token";
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(null));
-		doNothing().when(orderRepository).delete(any());
-		
-		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
-	}
-	
-	//Negative test case : placeOrder
-	@Test
-	void placeOrder_EmptyItemException() {
-		String authorization = "Bearer token";
-
-		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(null));
-		doThrow(new OrderException("Error occured while deleting", ErrorCodesEnum.INTERNAL_SERVER_ERROR)).when(orderRepository).delete(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(null));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : placeOrder
@@ -290,16 +336,11 @@ class OrderServiceImplTest {
 		String authorization = "Bearer token";
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(1)));
-		doNothing().when(orderRepository).delete(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(1)));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : placeOrder
@@ -309,76 +350,43 @@ class OrderServiceImplTest {
 		itemFetchDtoList.get(0).getMenu().getRestaurant().setId(2l);
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		doThrow(new RuntimeException("Error occured while deleting")).when(orderRepository).delete(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : placeOrder
 	@Test
 	void placeOrder_FromHourError() {
 		String authorization = "Bearer token";
-		Integer fromHour = LocalTime.now().getHour() + 1;
+		Integer fromHour = HOUR + 1;
 		itemFetchDtoList.get(0).getMenu().setActiveFrom(fromHour.toString());
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		doNothing().when(orderRepository).delete(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : placeOrder
 	@Test
 	void placeOrder_TillHourError() {
 		String authorization = "Bearer token";
-		Integer tillHour = LocalTime.now().getHour() - 1;
-		itemFetchDtoList.get(0).getMenu().setActiveTill(tillHour.toString());
-
-		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		doNothing().when(orderRepository).delete(any());
-		
-		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
-	}
-	
-	//Negative test case : placeOrder
-	@Test
-	void placeOrder_HourException() {
-		String authorization = "Bearer token";
-		Integer fromHour = LocalTime.now().getHour() + 1;
+		Integer fromHour = HOUR - 3;
+		Integer tillHour = HOUR - 1;
 		itemFetchDtoList.get(0).getMenu().setActiveFrom(fromHour.toString());
+		itemFetchDtoList.get(0).getMenu().setActiveTill(tillHour.toString());
 
 		
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		doThrow(new RuntimeException("Error occured while deleting")).when(orderRepository).delete(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.placeOrder(orderRequestDto);});
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Positive test case : cancelOrder
@@ -389,11 +397,11 @@ class OrderServiceImplTest {
 		Long customerId = 1l;
 
 		
-		when(orderRepository.findActiveOrderById(any(), any()))
+		when(orderRepository.transitionStatus(orderId, customerId, OrderStatus.CANCELLED))
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
-		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
 		
-		assertDoesNotThrow(() -> {orderServiceImpl.cancelOrder(orderId, customerId);});
+		assertTrue(orderServiceImpl.cancelOrder(orderId, customerId));
+		verify(orderRepository, never()).save(any());
 	}
 	
 	//Negative test case : cancelOrder
@@ -403,10 +411,10 @@ class OrderServiceImplTest {
 		Long customerId = 1l;
 
 		
-		when(orderRepository.findActiveOrderById(any(), any()))
+		when(orderRepository.transitionStatus(any(), any(), any()))
 		.thenReturn(Optional.empty());
 		
-		assertDoesNotThrow(() -> {orderServiceImpl.cancelOrder(orderId, customerId);});
+		assertFalse(orderServiceImpl.cancelOrder(orderId, customerId));
 	}
 	
 	//Negative test case : cancelOrder
@@ -417,9 +425,8 @@ class OrderServiceImplTest {
 		Long customerId = 1l;
 
 		
-		when(orderRepository.findActiveOrderById(any(), any()))
-		.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
-		when(orderRepository.save(any())).thenThrow(new RuntimeException("Error occured while saving order"));
+		when(orderRepository.transitionStatus(any(), any(), any()))
+		.thenThrow(new RuntimeException("Error occured while saving order"));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.cancelOrder(orderId, customerId);});
 	}
@@ -436,6 +443,39 @@ class OrderServiceImplTest {
 		assertEquals(1l, order.getId());
 	}
 	
+	//Positive test case : getOrderById
+	@Test
+	void getOrderById_CachedUntilCancelled() {
+		Long orderId = 1l;
+
+		when(orderRepository.findById(any()))
+		.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		when(orderRepository.transitionStatus(any(), any(), any()))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		
+		orderServiceImpl.getOrderById(orderId);
+		orderServiceImpl.getOrderById(orderId);
+		verify(orderRepository, times(1)).findById(orderId);
+		
+		orderServiceImpl.cancelOrder(orderId, 1l);
+		orderServiceImpl.getOrderById(orderId);
+		verify(orderRepository, times(2)).findById(orderId);
+	}
+	
+	//Positive test case : getOrderById
+	@Test
+	void getOrderById_PlacedOrderServedFromCache() {
+		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
+		doNothing().when(kafkaProducer).publishOrder(any());
+		
+		Order order = orderServiceImpl.placeOrder(orderRequestDto);
+		assertEquals(order, orderServiceImpl.getOrderById(order.getId()).get());
+		verify(orderRepository, never()).findById(any());
+	}
+	
 	//Negative test case : getOrderById
 	@Test
 	void getOrderById_Exception() {
@@ -459,6 +499,18 @@ class OrderServiceImplTest {
 		assertEquals(10.0, amount);
 	}
 	
+	//Positive test case : getOrderAmountByOrderId
+	@Test
+	void getOrderAmountByOrderId_StoredTotal() {
+		Long orderId = 1l;
+		Order order = new Order(1l, "CREATED", 1l);
+		order.setTotalAmountMinor(18050l);
+
+		when(orderRepository.findById(any())).thenReturn(Optional.of(order));
+		assertEquals(180.5, orderServiceImpl.getOrderAmountByOrderId(orderId));
+		verify(itemService, never()).findAmountbyOrderId(any());
+	}
+	
 	//Negative test case : getOrderAmountByOrderId
 	@Test
 	void getOrderAmountByOrderId_EmptyObjectError() {
@@ -487,14 +539,9 @@ class OrderServiceImplTest {
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
 		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
 		
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		when(itemService.saveItem(any())).thenReturn(orderedItemList.get(0));
-		doNothing().when(itemService).deleteItemsById(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
 		
 		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
 		
@@ -505,6 +552,85 @@ class OrderServiceImplTest {
 
 	}
 	
+	//Positive test case : updateOrder
+	@Test
+	@SuppressWarnings("unchecked")
+	void updateOrder_OnlyChangedLinesWritten() {
+		Order previousOrder = orderedItemList.get(0).getOrder();
+		for(OrderedItem orderedItem: orderedItemList) {
+			orderedItem.setName("Dosa");
+			orderedItem.setPrice(30);
+		}
+		orderUpdateDto.setItems(List.of(new OrderedItemsDto(1l, 5), new OrderedItemsDto(3l, 2)));
+		when(orderRepository.findActiveOrderById(any(), any())).thenReturn(Optional.of(previousOrder));
+		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		ArgumentCaptor<Order> savedOrder = ArgumentCaptor.forClass(Order.class);
+		when(orderRepository.save(savedOrder.capture())).thenReturn(previousOrder);
+		
+		OrderUpdateResponseDto updateResponseDto = orderServiceImpl.updateOrder(orderUpdateDto);
+		verify(itemService).deleteItems(List.of(2l));
+		ArgumentCaptor<List<OrderedItem>> savedItems = ArgumentCaptor.forClass(List.class);
+		verify(itemService).saveItems(savedItems.capture());
+		assertEquals(1, savedItems.getValue().size());
+		assertEquals(3l, savedItems.getValue().get(0).getItemId());
+		assertEquals(null, savedItems.getValue().get(0).getId());
+		assertEquals(2, updateResponseDto.getOrderedItems().size());
+		assertEquals(21000l, savedOrder.getValue().getTotalAmountMinor());
+		verify(itemService, never()).deleteItemsById(any());
+	}
+	
+	//Positive test case : updateOrder
+	@Test
+	void updateOrder_RetriesOnVersionConflict() {
+		Order previousOrder = orderedItemList.get(0).getOrder();
+		previousOrder.setVersion(4l);
+		when(orderRepository.findActiveOrderById(any(), any())).thenReturn(Optional.of(previousOrder));
+		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
+		ArgumentCaptor<Order> savedOrder = ArgumentCaptor.forClass(Order.class);
+		when(orderRepository.save(savedOrder.capture()))
+			.thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1l))
+			.thenReturn(previousOrder);
+		
+		OrderUpdateResponseDto updateResponseDto = orderServiceImpl.updateOrder(orderUpdateDto);
+		assertEquals(1l , updateResponseDto.getOrderId());
+		assertEquals(4l, savedOrder.getValue().getVersion());
+		verify(orderRepository, times(2)).findActiveOrderById(any(), any());
+		assertEquals(1.0, meterRegistry.get("order.version.conflicts").tag("operation", "update").counter().count());
+	}
+	
+	//Negative test case : updateOrder
+	@Test
+	void updateOrder_ConflictRetriesExhausted() {
+		when(orderRepository.findActiveOrderById(any(), any()))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
+		when(orderRepository.save(any())).thenThrow(new ObjectOptimisticLockingFailureException(Order.class, 1l));
+		
+		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
+		verify(orderRepository, times(3)).save(any());
+		verify(kafkaProducer, never()).publishOrder(any());
+		assertEquals(3.0, meterRegistry.get("order.version.conflicts").tag("operation", "update").counter().count());
+	}
+	
+	//Negative test case : updateOrder
+	@Test
+	void updateOrder_AlreadyAccepted() {
+		orderedItemList.get(0).getOrder().setStatus(OrderStatus.ACCEPTED.name());
+		when(orderRepository.findActiveOrderById(any(), any()))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		
+		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
+		verify(orderRepository, never()).save(any());
+	}
+	
 	//Negative test case : updateOrder
 	@Test
 	void updateOrder_ErrorSavingItemEntity() {
@@ -517,13 +643,9 @@ class OrderServiceImplTest {
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
 		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
 		
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		when(itemService.saveItem(any())).thenThrow(new RuntimeException("Error occured while saving order"));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenThrow(new RuntimeException("Error occured while saving order"));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
 
@@ -541,14 +663,9 @@ class OrderServiceImplTest {
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
 		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
 		
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
-		when(itemService.saveItem(any())).thenReturn(orderedItemList.get(0));
-		doNothing().when(itemService).deleteItemsById(any());
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.saveItems(any())).thenReturn(orderedItemList);
 		
 		when(orderRepository.save(any())).thenThrow(new RuntimeException("Error occured while saving item"));
 		
@@ -654,12 +771,7 @@ class OrderServiceImplTest {
 		
 		when(orderRepository.findActiveOrderById(any(), any()))
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
-		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
+		when(catalogService.getItemsByIds(any(), any()))
 			.thenThrow(new RuntimeException("Error occured"));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
@@ -676,13 +788,8 @@ class OrderServiceImplTest {
 		
 		when(orderRepository.findActiveOrderById(any(), any()))
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
-		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(null));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(null));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
 
@@ -692,7 +799,7 @@ class OrderServiceImplTest {
 	@Test
 	void updateOrder_FromHourMismatch() {
 		String authorization = "Bearer token";
-		Integer fromHour = LocalTime.now().getHour() + 1;
+		Integer fromHour = HOUR + 1;
 		itemFetchDtoList.get(0).getMenu().setActiveFrom(fromHour.toString());
 		
 		//add getCreateDateTime to order
@@ -700,13 +807,8 @@ class OrderServiceImplTest {
 		
 		when(orderRepository.findActiveOrderById(any(), any()))
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
-		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
 
@@ -716,7 +818,9 @@ class OrderServiceImplTest {
 	@Test
 	void updateOrder_TillHourMismatch() {
 		String authorization = "Bearer token";
-		Integer tillHour = LocalTime.now().getHour() - 1;
+		Integer fromHour = HOUR - 3;
+		Integer tillHour = HOUR - 1;
+		itemFetchDtoList.get(0).getMenu().setActiveFrom(fromHour.toString());
 		itemFetchDtoList.get(0).getMenu().setActiveTill(tillHour.toString());
 		
 		//add getCreateDateTime to order
@@ -724,16 +828,123 @@ class OrderServiceImplTest {
 		
 		when(orderRepository.findActiveOrderById(any(), any()))
 			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
-		when(itemService.findbyOrderId(any())).thenReturn(orderedItemList);
-		when(restTemplate.exchange(anyString(), 
-				ArgumentMatchers.any(HttpMethod.class), 
-				ArgumentMatchers.<HttpEntity<?>>any(), 
-				ArgumentMatchers.<Class<ItemFetchDto>>any(),
-				ArgumentMatchers.anyMap()))
-			.thenReturn(ResponseEntity.ok(itemFetchDtoList.get(0)));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
 		
 		assertThrows(OrderException.class, () -> {orderServiceImpl.updateOrder(orderUpdateDto);});
 
 	}
 
+	//Positive test case : patchOrderItems
+	@Test
+	@SuppressWarnings("unchecked")
+	void patchOrderItems_ValidatesOnlyTouchedItems() {
+		when(orderRepository.findActiveOrderById(1l, 1l))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		ArgumentCaptor<Collection<Long>> validatedIds = ArgumentCaptor.forClass(Collection.class);
+		when(catalogService.getItemsByIds(validatedIds.capture(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.findbyOrderId(1l)).thenReturn(orderedItemList);
+		ArgumentCaptor<Order> savedOrder = ArgumentCaptor.forClass(Order.class);
+		when(orderRepository.save(savedOrder.capture())).thenReturn(orderedItemList.get(0).getOrder());
+		
+		OrderUpdateResponseDto updateResponseDto = orderServiceImpl.patchOrderItems(1l, 
+				patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.ADD, 3l, 2)));
+		
+		assertEquals(List.of(3l), new ArrayList<>(validatedIds.getValue()));
+		ArgumentCaptor<List<OrderedItem>> savedItems = ArgumentCaptor.forClass(List.class);
+		verify(itemService).saveItems(savedItems.capture());
+		assertEquals(1, savedItems.getValue().size());
+		assertEquals(3l, savedItems.getValue().get(0).getItemId());
+		verify(itemService, never()).deleteItems(any());
+		assertEquals(3, updateResponseDto.getOrderedItems().size());
+		assertEquals(11400l, savedOrder.getValue().getTotalAmountMinor());
+		assertEquals(OrderStatus.UPDATED.name(), savedOrder.getValue().getStatus());
+	}
+	
+	//Positive test case : patchOrderItems
+	@Test
+	@SuppressWarnings("unchecked")
+	void patchOrderItems_SetQuantityAndRemove() {
+		when(orderRepository.findActiveOrderById(1l, 1l))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		when(catalogService.getItemsByIds(any(), any()))
+			.thenAnswer(validatedItemsOf(itemFetchDtoList.get(0)));
+		when(itemService.findbyOrderId(1l)).thenReturn(orderedItemList);
+		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
+		
+		OrderUpdateResponseDto updateResponseDto = orderServiceImpl.patchOrderItems(1l, 
+				patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.SET_QUANTITY, 1l, 2), 
+						new OrderItemOperationDto(OrderItemOperationDto.Op.REMOVE, 2l, 0)));
+		
+		verify(itemService).deleteItems(List.of(2l));
+		ArgumentCaptor<List<OrderedItem>> savedItems = ArgumentCaptor.forClass(List.class);
+		verify(itemService).saveItems(savedItems.capture());
+		assertEquals(1l, savedItems.getValue().get(0).getId());
+		assertEquals(2, savedItems.getValue().get(0).getQuantity());
+		assertEquals(1, updateResponseDto.getOrderedItems().size());
+	}
+	
+	//Positive test case : patchOrderItems
+	@Test
+	void patchOrderItems_RemoveNeedsNoCatalog() {
+		when(orderRepository.findActiveOrderById(1l, 1l))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		when(itemService.findbyOrderId(1l)).thenReturn(orderedItemList);
+		when(orderRepository.save(any())).thenReturn(orderedItemList.get(0).getOrder());
+		
+		orderServiceImpl.patchOrderItems(1l, patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.REMOVE, 2l, 0)));
+		verify(catalogService, never()).getItemsByIds(any(), any());
+		verify(itemService, never()).saveItems(any());
+		verify(itemService).deleteItems(List.of(2l));
+	}
+	
+	//Negative test case : patchOrderItems
+	@Test
+	void patchOrderItems_ItemNotInOrder() {
+		when(orderRepository.findActiveOrderById(1l, 1l))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		when(itemService.findbyOrderId(1l)).thenReturn(orderedItemList);
+		
+		assertThrows(OrderException.class, () -> {orderServiceImpl.patchOrderItems(1l, 
+				patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.REMOVE, 5l, 0)));});
+		verify(orderRepository, never()).save(any());
+	}
+	
+	//Negative test case : patchOrderItems
+	@Test
+	void patchOrderItems_RemovesEveryItem() {
+		when(orderRepository.findActiveOrderById(1l, 1l))
+			.thenReturn(Optional.of(orderedItemList.get(0).getOrder()));
+		when(itemService.findbyOrderId(1l)).thenReturn(orderedItemList);
+		
+		assertThrows(OrderException.class, () -> {orderServiceImpl.patchOrderItems(1l, 
+				patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.REMOVE, 1l, 0), 
+						new OrderItemOperationDto(OrderItemOperationDto.Op.REMOVE, 2l, 0)));});
+		verify(itemService, never()).deleteItems(any());
+	}
+	
+	//Negative test case : patchOrderItems
+	@Test
+	void patchOrderItems_QuantityError() {
+		assertThrows(OrderException.class, () -> {orderServiceImpl.patchOrderItems(1l, 
+				patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.SET_QUANTITY, 1l, 0)));});
+		assertThrows(OrderException.class, () -> {orderServiceImpl.patchOrderItems(1l, patchOf());});
+		verifyNoInteractions(orderRepository);
+	}
+	
+	//Negative test case : patchOrderItems
+	@Test
+	void patchOrderItems_OrderNotFound() {
+		when(orderRepository.findActiveOrderById(1l, 1l)).thenReturn(Optional.empty());
+		
+		assertThrows(OrderException.class, () -> {orderServiceImpl.patchOrderItems(1l, 
+				patchOf(new OrderItemOperationDto(OrderItemOperationDto.Op.ADD, 3l, 1)));});
+		verifyNoInteractions(catalogService);
+	}
+	
+	private OrderItemsPatchDto patchOf(OrderItemOperationDto... operations) {
+		return new OrderItemsPatchDto(1l, List.of(operations));
+	}
+
 }
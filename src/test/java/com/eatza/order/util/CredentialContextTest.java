@@ -0,0 +1,64 @@
+package com.eatza.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CredentialContextTest {
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		executor = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		executor.shutdownNow();
+	}
+
+	//Positive test case : open
+	@Test
+	void open_RestoresPrevious() {
+		assertNull(CredentialContext.currentToken());
+		try(CredentialContext.Scope outer = CredentialContext.open("customer1")) {
+			try(CredentialContext.Scope inner = CredentialContext.open("customer2")) {
+				assertEquals("customer2", CredentialContext.currentToken());
+			}
+			assertEquals("customer1", CredentialContext.currentToken());
+		}
+		assertNull(CredentialContext.currentToken());
+	}
+
+	//Positive test case : wrap
+	@Test
+	void wrap_PropagatesToWorker() throws Exception {
+		AtomicReference<String> seen = new AtomicReference<>();
+		Runnable task;
+		try(CredentialContext.Scope scope = CredentialContext.open("customer1")) {
+			task = CredentialContext.wrap(() -> seen.set(CredentialContext.currentToken()));
+		}
+		executor.submit(task).get();
+		assertEquals("customer1", seen.get());
+
+		executor.submit(() -> seen.set(CredentialContext.currentToken())).get();
+		assertNull(seen.get());
+	}
+
+	//Positive test case : wrap
+	@Test
+	void wrap_NoToken() {
+		Runnable task = () -> {};
+		assertSame(task, CredentialContext.wrap(task));
+	}
+
+}
@@ -0,0 +1,91 @@
+package com.eatza.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.eatza.order.exception.OrderException;
+
+class FanOutTest {
+
+	private ExecutorService executor;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		executor.shutdownNow();
+	}
+
+	//Positive test case : run
+	@Test
+	void run_Success() {
+		Map<Long, String> results = FanOut.run(Arrays.asList(1l, 2l, 3l), 2, executor,
+				key -> key == 2l ? null : "item-" + key);
+
+		assertEquals(2, results.size());
+		assertEquals("item-1", results.get(1l));
+		assertFalse(results.containsKey(2l));
+	}
+
+	//Positive test case : run
+	@Test
+	void run_ParallelismCap() {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+
+		FanOut.run(Arrays.asList(1l, 2l, 3l, 4l, 5l, 6l), 2, executor, key -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			inFlight.decrementAndGet();
+			return key;
+		});
+
+		assertTrue(maxInFlight.get() <= 2);
+	}
+
+	//Negative test case : run
+	@Test
+	void run_FailFast() throws Exception {
+		CountDownLatch siblingStarted = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+
+		OrderException exception = assertThrows(OrderException.class, () -> FanOut.run(Arrays.asList(1l, 2l), 2, executor, key -> {
+			try {
+				if(key == 1l) {
+					siblingStarted.await(5, TimeUnit.SECONDS);
+					throw new OrderException("Item not found");
+				}
+				siblingStarted.countDown();
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return key;
+		}));
+
+		assertEquals("Item not found", exception.getMessage());
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+	}
+
+}
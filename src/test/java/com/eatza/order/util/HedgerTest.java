@@ -0,0 +1,206 @@
+package com.eatza.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HedgerTest {
+
+	private ExecutorService executor;
+
+	private CountDownLatch release;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		executor = Executors.newCachedThreadPool();
+		release = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		release.countDown();
+		executor.shutdownNow();
+	}
+
+	//Positive test case : call
+	@Test
+	void call_FastPrimaryNotHedged() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofSeconds(5), Duration.ofMillis(1), 0.05, 10);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertEquals("Dosa", hedger.call(() -> {
+			attempts.incrementAndGet();
+			return "Dosa";
+		}));
+		assertEquals(1, attempts.get());
+		assertEquals(0, hedger.hedgesSent());
+	}
+
+	//Positive test case : call
+	@Test
+	void call_SlowPrimaryHedged() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofMillis(10), Duration.ofMillis(1), 0.05, 10);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertEquals("hedge", hedger.call(() -> {
+			if(attempts.incrementAndGet() == 1) {
+				await(release);
+				return "primary";
+			}
+			return "hedge";
+		}));
+		assertEquals(2, attempts.get());
+		assertEquals(1, hedger.hedgesSent());
+		assertEquals(1, hedger.hedgesWon());
+	}
+
+	//Positive test case : call
+	@Test
+	void call_HedgeUsesOwnCall() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofMillis(10), Duration.ofMillis(1), 0.05, 10);
+
+		assertEquals("hedge", hedger.call(() -> {
+			await(release);
+			return "primary";
+		}, () -> "hedge", () -> true));
+		assertEquals(1, hedger.hedgesWon());
+	}
+
+	//Negative test case : call
+	@Test
+	void call_NotWorthHedging() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofMillis(10), Duration.ofMillis(1), 0.05, 10);
+		AtomicInteger hedges = new AtomicInteger();
+
+		assertEquals("primary", hedger.call(() -> {
+			sleep(50);
+			return "primary";
+		}, () -> {
+			hedges.incrementAndGet();
+			return "hedge";
+		}, () -> false));
+		assertEquals(0, hedges.get());
+		assertEquals(0, hedger.hedgesSent());
+	}
+
+	//Positive test case : call
+	@Test
+	void call_BudgetExhausted() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofMillis(10), Duration.ofMillis(1), 0, 0);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertEquals("primary", hedger.call(() -> {
+			attempts.incrementAndGet();
+			sleep(50);
+			return "primary";
+		}));
+		assertEquals(1, attempts.get());
+		assertEquals(0, hedger.hedgesSent());
+	}
+
+	//Positive test case : call
+	@Test
+	void call_HedgeRejected() {
+		AtomicInteger submitted = new AtomicInteger();
+		Executor singleSlot = command -> {
+			if(submitted.incrementAndGet() > 1)
+				throw new RejectedExecutionException("catalog-hedge pool is full");
+			executor.execute(command);
+		};
+		Hedger hedger = new Hedger(singleSlot, 0.95, Duration.ofMillis(10), Duration.ofMillis(1), 0.05, 10);
+
+		assertEquals("primary", hedger.call(() -> {
+			sleep(50);
+			return "primary";
+		}));
+		assertEquals(2, submitted.get());
+		assertEquals(0, hedger.hedgesSent());
+	}
+
+	//Positive test case : hedgeDelayNanos
+	@Test
+	void hedgeDelayNanos_FollowsPercentile() {
+		Hedger hedger = new Hedger(Runnable::run, 0.5, Duration.ofSeconds(5), Duration.ofNanos(1), 0.05, 10);
+		assertEquals(Duration.ofSeconds(5).toNanos(), hedger.hedgeDelayNanos());
+
+		for(int i = 0; i < 40; i++) {
+			hedger.call(() -> "Dosa");
+		}
+		assertTrue(hedger.hedgeDelayNanos() < Duration.ofSeconds(5).toNanos());
+		assertEquals(0, hedger.hedgesSent());
+	}
+
+	//Positive test case : hedgeDelayNanos
+	@Test
+	void hedgeDelayNanos_RecomputedPeriodically() {
+		Hedger hedger = new Hedger(Runnable::run, 0.5, Duration.ofSeconds(5), Duration.ofNanos(1), 0.05, 10);
+
+		for(int i = 0; i < 31; i++) {
+			hedger.call(() -> "Dosa");
+		}
+		assertEquals(Duration.ofSeconds(5).toNanos(), hedger.hedgeDelayNanos());
+		hedger.call(() -> "Dosa");
+		long delay = hedger.hedgeDelayNanos();
+		assertTrue(delay < Duration.ofSeconds(5).toNanos());
+
+		hedger.call(() -> "Dosa");
+		assertEquals(delay, hedger.hedgeDelayNanos());
+	}
+
+	//Negative test case : call
+	@Test
+	void call_BothFail() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofMillis(10), Duration.ofMillis(1), 0.05, 10);
+		AtomicInteger attempts = new AtomicInteger();
+
+		IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> hedger.call(() -> {
+			if(attempts.incrementAndGet() == 1)
+				sleep(50);
+			throw new IllegalArgumentException("Error occured");
+		}));
+		assertEquals("Error occured", exception.getMessage());
+		assertEquals(1, hedger.hedgesSent());
+		assertEquals(0, hedger.hedgesWon());
+	}
+
+	//Negative test case : call
+	@Test
+	void call_PrimaryFailsBeforeDelay() {
+		Hedger hedger = new Hedger(executor, 0.95, Duration.ofSeconds(5), Duration.ofMillis(1), 0.05, 10);
+
+		assertThrows(IllegalArgumentException.class, () -> hedger.call(() -> {
+			throw new IllegalArgumentException("Error occured");
+		}));
+		assertEquals(0, hedger.hedgesSent());
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch(InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -1,10 +1,19 @@
 package com.eatza.order.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +30,10 @@ import org.springframework.web.client.RestTemplate;
 import com.eatza.order.dto.ErrorResponseDto;
 import com.eatza.order.exception.InvalidTokenException;
 
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.security.Keys;
+
 @ExtendWith(MockitoExtension.class)
 class JwtTokenUtilTest {
 
@@ -34,10 +47,15 @@ class JwtTokenUtilTest {
 	
 	private String secret = "secretKey";
 	
+	private String signingSecret = "0194cc426c227da58721b57cdde3fc8b6se4cr67et1k56ey9";
+	
 	@BeforeEach
 	void setUp() throws Exception {
 		tokenUtil.setCustomerServiceTokenUrl(customerServiceTokenUrl);
 		tokenUtil.setSecret(secret);
+		tokenUtil.setClockSkew(Duration.ZERO);
+		tokenUtil.setTokenValidationCache(
+				new TokenValidationCache(new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofSeconds(10), 100));
 	}
 
 	//Positive test case : validateToken
@@ -114,5 +132,135 @@ class JwtTokenUtilTest {
 		assertThrows(InvalidTokenException.class, () -> {tokenUtil.validateToken(token);});
 		
 	}
+	
+	//Positive test case : validateToken
+	@Test
+	void validateToken_Local() {
+		tokenUtil.setSecret(signingSecret);
+		tokenUtil.setVerificationMode("local");
+		String token = tokenFor("customer1", signingSecret, 60000);
+		
+		assertTrue(tokenUtil.validateToken(token));
+		verifyNoInteractions(restTemplate);
+	}
+	
+	//Positive test case : validateToken
+	@Test
+	void validateToken_LocalWithRevocationCheck() {
+		tokenUtil.setSecret(signingSecret);
+		tokenUtil.setVerificationMode("local");
+		tokenUtil.setRemoteRevocationCheck(true);
+		
+		when(restTemplate.exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any()))
+			.thenReturn(ResponseEntity.ok(false));
+		
+		assertEquals(false, tokenUtil.validateToken(tokenFor("customer1", signingSecret, 60000)));
+		verify(restTemplate, times(1)).exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any());
+	}
+	
+	//Negative test case : validateToken
+	@Test
+	void validateToken_LocalExpired() {
+		tokenUtil.setSecret(signingSecret);
+		tokenUtil.setVerificationMode("local");
+		
+		InvalidTokenException exception = assertThrows(InvalidTokenException.class, 
+				() -> {tokenUtil.validateToken(tokenFor("customer1", signingSecret, -60000));});
+		assertEquals("JWT expired", exception.getMessage());
+		verifyNoInteractions(restTemplate);
+	}
+	
+	//Negative test case : validateToken
+	@Test
+	void validateToken_LocalBadSignature() {
+		tokenUtil.setSecret(signingSecret);
+		tokenUtil.setVerificationMode("local");
+		String token = tokenFor("customer1", "another0194cc426c227da58721b57cdde3fc8b6se4cr67et", 60000);
+		
+		assertThrows(InvalidTokenException.class, () -> {tokenUtil.validateToken(token);});
+		assertThrows(InvalidTokenException.class, () -> {tokenUtil.validateToken("not-a-token");});
+		verifyNoInteractions(restTemplate);
+	}
+	
+	//Negative test case : verifyLocally
+	@Test
+	void verifyLocally_NoSubject() {
+		tokenUtil.setSecret(signingSecret);
+		
+		assertThrows(InvalidTokenException.class, () -> {tokenUtil.verifyLocally(tokenFor(null, signingSecret, 60000));});
+	}
+	
+	//Positive test case : validateToken
+	@Test
+	void validateToken_Cached() {
+		String token = tokenFor("customer1", signingSecret, 60000);
+		
+		when(restTemplate.exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any()))
+			.thenReturn(ResponseEntity.ok(true));
+		
+		assertTrue(tokenUtil.validateToken(token));
+		assertTrue(tokenUtil.validateToken(token));
+		verify(restTemplate, times(1)).exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any());
+	}
+	
+	//Negative test case : validateToken
+	@Test
+	void validateToken_RejectionCached() {
+		ErrorResponseDto errorResponseDto = new ErrorResponseDto("EX900", "Invalid token", "Customer not active");
+		RestClientResponseException clientResponseException = 
+				new RestClientResponseException("Error occured", 401, "", null, 
+						"{\"code\":\"EX900\",\"message\":\"Invalid token\",\"description\":\"Customer not active\"}".getBytes(), null);
+		
+		when(restTemplate.exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any()))
+			.thenThrow(clientResponseException);
+		
+		for(int i = 0; i < 2; i++) {
+			InvalidTokenException exception = assertThrows(InvalidTokenException.class, () -> {tokenUtil.validateToken("token");});
+			assertEquals(errorResponseDto.getDescription(), exception.getMessage());
+		}
+		verify(restTemplate, times(1)).exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any());
+	}
+	
+	//Negative test case : validateToken
+	@Test
+	void validateToken_TransientErrorNotCached() {
+		when(restTemplate.exchange(anyString(), 
+				ArgumentMatchers.any(HttpMethod.class), 
+				ArgumentMatchers.<HttpEntity<?>>any(), 
+				ArgumentMatchers.<Class<Boolean>>any()))
+			.thenThrow(new RuntimeException())
+			.thenReturn(ResponseEntity.ok(true));
+		
+		assertThrows(InvalidTokenException.class, () -> {tokenUtil.validateToken("token");});
+		assertTrue(tokenUtil.validateToken("token"));
+	}
+	
+	private String tokenFor(String subject, String key, long validForMillis) {
+		long now = System.currentTimeMillis();
+		return Jwts.builder()
+				.setSubject(subject)
+				.setIssuedAt(new Date(now - 120000))
+				.setExpiration(new Date(now + validForMillis))
+				.signWith(Keys.hmacShaKeyFor(key.getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
 
 }
@@ -0,0 +1,103 @@
+package com.eatza.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.RestTemplate;
+
+import com.eatza.order.dto.ServiceTokenDto;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceCredentialProviderTest {
+
+	@Mock
+	RestTemplate restTemplate;
+
+	@InjectMocks
+	ServiceCredentialProvider serviceCredentialProvider;
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private Instant now = Instant.parse("2024-01-01T12:00:00Z");
+
+	@BeforeEach
+	void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		serviceCredentialProvider.setMeterRegistry(meterRegistry);
+		serviceCredentialProvider.setClock(Clock.fixed(now, ZoneOffset.UTC));
+		serviceCredentialProvider.setEnabled(true);
+		serviceCredentialProvider.setTokenUrl("http://tokenUrl");
+		serviceCredentialProvider.setClientId("order-service");
+		serviceCredentialProvider.setClientSecret("clientSecret");
+		serviceCredentialProvider.setRefreshAhead(Duration.ofSeconds(60));
+		serviceCredentialProvider.setRetryInterval(Duration.ofSeconds(10));
+		serviceCredentialProvider.bindMetrics();
+	}
+
+	//Positive test case : refreshIfDue
+	@Test
+	void refreshIfDue_FetchesOnceUntilDue() {
+		when(restTemplate.postForObject(anyString(), ArgumentMatchers.any(), ArgumentMatchers.<Class<ServiceTokenDto>>any()))
+			.thenReturn(new ServiceTokenDto("serviceToken", 300), new ServiceTokenDto("refreshedToken", 300));
+
+		serviceCredentialProvider.refreshIfDue();
+		serviceCredentialProvider.refreshIfDue();
+		assertEquals("serviceToken", serviceCredentialProvider.currentToken());
+		assertEquals(300.0, meterRegistry.get("service.credential.expires.in").gauge().value());
+
+		serviceCredentialProvider.setClock(Clock.fixed(now.plusSeconds(250), ZoneOffset.UTC));
+		serviceCredentialProvider.refreshIfDue();
+		assertEquals("refreshedToken", serviceCredentialProvider.currentToken());
+		assertEquals(2, meterRegistry.get("service.credential.refresh").tag("result", "success").timer().count());
+	}
+
+	//Negative test case : refreshIfDue
+	@Test
+	void refreshIfDue_FailureKeepsCurrentToken() {
+		when(restTemplate.postForObject(anyString(), ArgumentMatchers.any(), ArgumentMatchers.<Class<ServiceTokenDto>>any()))
+			.thenReturn(new ServiceTokenDto("serviceToken", 300))
+			.thenThrow(new RuntimeException("Error occured"));
+
+		serviceCredentialProvider.refreshIfDue();
+		serviceCredentialProvider.setClock(Clock.fixed(now.plusSeconds(250), ZoneOffset.UTC));
+		serviceCredentialProvider.refreshIfDue();
+		serviceCredentialProvider.refreshIfDue();
+
+		assertEquals("serviceToken", serviceCredentialProvider.currentToken());
+		assertEquals(1, meterRegistry.get("service.credential.refresh").tag("result", "failure").timer().count());
+		verify(restTemplate, times(2)).postForObject(anyString(), ArgumentMatchers.any(), ArgumentMatchers.<Class<ServiceTokenDto>>any());
+
+		serviceCredentialProvider.setClock(Clock.fixed(now.plusSeconds(300), ZoneOffset.UTC));
+		assertNull(serviceCredentialProvider.currentToken());
+	}
+
+	//Negative test case : currentToken
+	@Test
+	void currentToken_Disabled() {
+		serviceCredentialProvider.setEnabled(false);
+		serviceCredentialProvider.refreshIfDue();
+
+		assertNull(serviceCredentialProvider.currentToken());
+		verify(restTemplate, never()).postForObject(anyString(), ArgumentMatchers.any(), ArgumentMatchers.<Class<ServiceTokenDto>>any());
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.eatza.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+	private ExecutorService executor;
+
+	private SingleFlight<Long, String> singleFlight;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		executor = Executors.newFixedThreadPool(4);
+		singleFlight = new SingleFlight<>();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		executor.shutdownNow();
+	}
+
+	//Positive test case : execute
+	@Test
+	void execute_Coalesced() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute(1l, () -> {
+			loads.incrementAndGet();
+			loading.countDown();
+			await(release);
+			return "Dosa";
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+		Future<String> follower = executor.submit(() -> singleFlight.execute(1l, () -> {
+			loads.incrementAndGet();
+			return "Other";
+		}));
+		while(singleFlight.coalescedCount() == 0)
+			Thread.sleep(5);
+		release.countDown();
+
+		assertEquals("Dosa", leader.get(5, TimeUnit.SECONDS));
+		assertEquals("Dosa", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(1, loads.get());
+		assertEquals(1, singleFlight.coalescedCount());
+	}
+
+	//Negative test case : execute
+	@Test
+	void execute_FailureShared() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute(1l, () -> {
+			loading.countDown();
+			await(release);
+			throw new IllegalStateException("Error occured");
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+		Future<String> follower = executor.submit(() -> singleFlight.execute(1l, () -> "Other"));
+		while(singleFlight.coalescedCount() == 0)
+			Thread.sleep(5);
+		release.countDown();
+
+		Exception leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+		Exception followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+		assertEquals("Error occured", leaderFailure.getCause().getMessage());
+		assertEquals("Error occured", followerFailure.getCause().getMessage());
+		assertEquals("Fresh", singleFlight.execute(1l, () -> "Fresh"));
+	}
+
+	//Positive test case : execute
+	@Test
+	void execute_CancelledOwnerNotShared() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger();
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute(1l, () -> {
+			loads.incrementAndGet();
+			loading.countDown();
+			awaitInterruptibly(new CountDownLatch(1));
+			return "Dosa";
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+		Future<String> follower = executor.submit(() -> singleFlight.execute(1l, () -> {
+			loads.incrementAndGet();
+			return "Fresh";
+		}));
+		while(singleFlight.coalescedCount() == 0)
+			Thread.sleep(5);
+		leader.cancel(true);
+
+		assertEquals("Fresh", follower.get(5, TimeUnit.SECONDS));
+		assertEquals(2, loads.get());
+	}
+
+	//Positive test case : executeAll
+	@Test
+	void executeAll_CancelledOwnerNotShared() throws Exception {
+		CountDownLatch loading = new CountDownLatch(1);
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute(1l, () -> {
+			loading.countDown();
+			awaitInterruptibly(new CountDownLatch(1));
+			return "Dosa";
+		}));
+		loading.await(5, TimeUnit.SECONDS);
+		Future<Map<Long, String>> follower = executor.submit(() -> singleFlight.executeAll(Arrays.asList(1l, 2l), keys -> {
+			Map<Long, String> loaded = new HashMap<>();
+			for(Long key: keys) {
+				loaded.put(key, "Fresh" + key);
+			}
+			return loaded;
+		}));
+		while(singleFlight.coalescedCount() == 0)
+			Thread.sleep(5);
+		leader.cancel(true);
+
+		Map<Long, String> results = follower.get(5, TimeUnit.SECONDS);
+		assertEquals("Fresh1", results.get(1l));
+		assertEquals("Fresh2", results.get(2l));
+	}
+
+	//Positive test case : executeAll
+	@Test
+	void executeAll_Success() {
+		Map<Long, String> results = singleFlight.executeAll(Arrays.asList(1l, 2l), keys -> {
+			Map<Long, String> loaded = new HashMap<>();
+			loaded.put(1l, "Dosa");
+			return loaded;
+		});
+
+		assertEquals(1, results.size());
+		assertEquals("Dosa", results.get(1l));
+		assertFalse(results.containsKey(2l));
+		assertEquals(0, singleFlight.coalescedCount());
+	}
+
+	// fails the way Hedger and pooled HTTP calls do when their thread is interrupted
+	private static void awaitInterruptibly(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a hedged call", e);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
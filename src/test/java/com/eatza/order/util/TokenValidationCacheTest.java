@@ -0,0 +1,84 @@
+package com.eatza.order.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenValidationCacheTest {
+
+	private SimpleMeterRegistry meterRegistry;
+
+	private TokenValidationCache tokenValidationCache;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		meterRegistry = new SimpleMeterRegistry();
+		tokenValidationCache = new TokenValidationCache(meterRegistry, Duration.ofMinutes(5), Duration.ofSeconds(10), 100);
+	}
+
+	//Positive test case : putAccepted
+	@Test
+	void putAccepted_Success() {
+		String token = tokenExpiringIn(60000);
+		tokenValidationCache.putAccepted(token);
+
+		assertTrue(tokenValidationCache.get(token).isValid());
+		assertNull(tokenValidationCache.get("another"));
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TokenValidationCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", TokenValidationCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+	}
+
+	//Negative test case : putAccepted
+	@Test
+	void putAccepted_ExpiredTokenNotCached() {
+		String token = tokenExpiringIn(-60000);
+		tokenValidationCache.putAccepted(token);
+
+		assertNull(tokenValidationCache.get(token));
+	}
+
+	//Positive test case : putAccepted
+	@Test
+	void putAccepted_OpaqueToken() {
+		tokenValidationCache.putAccepted("token");
+		assertTrue(tokenValidationCache.get("token").isValid());
+	}
+
+	//Positive test case : putRejected
+	@Test
+	void putRejected_Success() {
+		tokenValidationCache.putRejected("token", "JWT expired");
+
+		assertFalse(tokenValidationCache.get("token").isValid());
+		assertEquals("JWT expired", tokenValidationCache.get("token").getReason());
+	}
+
+	//Positive test case : invalidate
+	@Test
+	void invalidate_Success() {
+		tokenValidationCache.putAccepted("token");
+		tokenValidationCache.invalidate("token");
+		assertNull(tokenValidationCache.get("token"));
+	}
+
+	private String tokenExpiringIn(long millis) {
+		return Jwts.builder()
+				.setSubject("customer1")
+				.setExpiration(new Date(System.currentTimeMillis() + millis))
+				.signWith(Keys.hmacShaKeyFor("0194cc426c227da58721b57cdde3fc8b6se4cr67et1k56ey9".getBytes(StandardCharsets.UTF_8)))
+				.compact();
+	}
+
+}